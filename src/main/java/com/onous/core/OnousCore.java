@@ -2,17 +2,27 @@ package com.onous.core;
 
 import com.onous.core.command.*;
 import com.onous.core.economy.EcoManager;
+import com.onous.core.economy.Leaderboard;
 import com.onous.core.economy.VaultHook;
 import com.onous.core.friend.manager.FriendManager;
+import com.onous.core.gui.BaltopCache;
 import com.onous.core.hook.PlaceholderHook;
 import com.onous.core.listener.GUIListener;
 import com.onous.core.listener.PlayerListener;
 import com.onous.core.listener.TeleportListener;
 import com.onous.core.listener.WorldListener;
+import com.onous.core.manager.AutosaveManager;
 import com.onous.core.manager.CooldownManager;
 import com.onous.core.manager.DataManager;
+import com.onous.core.manager.NameIndex;
+import com.onous.core.manager.PreloadManager;
 import com.onous.core.manager.TPAManager;
 import com.onous.core.manager.TeleportManager;
+import com.onous.core.rtp.RTPPool;
+import com.onous.core.storage.PlayerStore;
+import com.onous.core.storage.SqlitePlayerStore;
+import com.onous.core.storage.YamlPlayerStore;
+import com.onous.core.util.TimingWheel;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.ServicePriority;
@@ -22,13 +32,23 @@ public class OnousCore extends JavaPlugin {
 
     private static OnousCore instance;
 
+    // Storage
+    private PlayerStore playerStore;
+
     // Managers
     private DataManager dataManager;
+    private NameIndex nameIndex;
     private TeleportManager teleportManager;
+    private RTPPool rtpPool;
     private TPAManager tpaManager;
     private CooldownManager cooldownManager;
+    private TimingWheel timers;
     private FriendManager friendManager;
     private EcoManager ecoManager;
+    private Leaderboard leaderboard;
+    private BaltopCache baltopCache;
+    private PreloadManager preloadManager;
+    private AutosaveManager autosaveManager;
 
     @Override
     public void onEnable() {
@@ -47,19 +67,68 @@ public class OnousCore extends JavaPlugin {
 
     @Override
     public void onDisable() {
-        if (dataManager != null) dataManager.saveAll();
-        if (friendManager != null) friendManager.saveAll();
-        if (ecoManager != null) ecoManager.save();
+        if (timers != null) timers.stop();
+        if (rtpPool != null) rtpPool.stop();
+        if (autosaveManager != null) autosaveManager.stop();
+        if (leaderboard != null) leaderboard.stop();
+        if (preloadManager != null) preloadManager.shutdown();
+        if (dataManager != null) {
+            dataManager.saveAll();
+            dataManager.shutdown();
+        }
+        if (friendManager != null) {
+            friendManager.saveAll();
+            friendManager.shutdown();
+        }
+        if (ecoManager != null) ecoManager.shutdown();
+        if (nameIndex != null) nameIndex.shutdown();
+        if (playerStore != null) playerStore.close();
         getLogger().info("OnousCore disabled!");
     }
 
     private void initManagers() {
+        this.playerStore = createStore();
+
+        this.timers = new TimingWheel(this);
+        timers.start();
         this.cooldownManager = new CooldownManager();
-        this.dataManager = new DataManager(this);
+        cooldownManager.scheduleCleanup(timers, 60);
+        this.dataManager = new DataManager(this, playerStore);
+        this.nameIndex = new NameIndex(this);
+        nameIndex.start();
         this.teleportManager = new TeleportManager(this);
+        this.rtpPool = new RTPPool(this);
+        rtpPool.start();
         this.tpaManager = new TPAManager(this);
-        this.friendManager = new FriendManager(this);
-        this.ecoManager = new EcoManager(this);
+        this.friendManager = new FriendManager(this, playerStore);
+        this.ecoManager = new EcoManager(this, playerStore);
+        ecoManager.startFlusher();
+        this.leaderboard = new Leaderboard(this, ecoManager);
+        leaderboard.start();
+        this.baltopCache = new BaltopCache(this);
+        this.preloadManager = new PreloadManager(this);
+
+        this.autosaveManager = new AutosaveManager(this);
+        autosaveManager.register(dataManager);
+        autosaveManager.register(friendManager);
+        autosaveManager.start();
+    }
+
+    private PlayerStore createStore() {
+        String type = getConfig().getString("storage.type", "yaml").toLowerCase();
+
+        if (type.equals("sqlite")) {
+            try {
+                PlayerStore store = new SqlitePlayerStore(this, getConfig().getString("storage.sqlite-file", "data.db"));
+                getLogger().info("Storage: SQLite");
+                return store;
+            } catch (Exception e) {
+                getLogger().severe("Failed to open SQLite storage, falling back to YAML: " + e.getMessage());
+            }
+        }
+
+        getLogger().info("Storage: YAML");
+        return new YamlPlayerStore(this);
     }
 
     private void registerCommands() {
@@ -108,11 +177,19 @@ public class OnousCore extends JavaPlugin {
 
     public static OnousCore get() { return instance; }
     public DataManager getData() { return dataManager; }
+    public NameIndex getNames() { return nameIndex; }
     public TeleportManager getTeleport() { return teleportManager; }
+    public RTPPool getRTP() { return rtpPool; }
     public TPAManager getTPA() { return tpaManager; }
     public CooldownManager getCooldown() { return cooldownManager; }
+    public TimingWheel getTimers() { return timers; }
     public FriendManager getFriends() { return friendManager; }
     public EcoManager getEcoManager() { return ecoManager; }
+    public Leaderboard getLeaderboard() { return leaderboard; }
+    public BaltopCache getBaltop() { return baltopCache; }
+    public PlayerStore getPlayerStore() { return playerStore; }
+    public PreloadManager getPreload() { return preloadManager; }
+    public AutosaveManager getAutosave() { return autosaveManager; }
 
     public String getMessage(String path) {
         return getConfig().getString("messages." + path, "&cMessage not found: " + path);
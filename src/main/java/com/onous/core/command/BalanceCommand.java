@@ -2,10 +2,9 @@ package com.onous.core.command;
 
 import com.onous.core.OnousCore;
 import com.onous.core.gui.BalanceGUI;
+import com.onous.core.manager.NameIndex;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
-import org.bukkit.Bukkit;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -25,10 +24,10 @@ public class BalanceCommand implements CommandExecutor {
         if (!(sender instanceof Player player)) {
             // Console check balance
             if (args.length > 0) {
-                OfflinePlayer target = Bukkit.getOfflinePlayer(args[0]);
-                if (target.hasPlayedBefore() || target.isOnline()) {
-                    double bal = plugin.getEcoManager().getBalance(target);
-                    CC.send(sender, "&e" + target.getName() + "'s Balance: &f" + plugin.getEcoManager().format(bal));
+                NameIndex.Entry target = plugin.getNames().resolve(args[0]);
+                if (target != null) {
+                    double bal = plugin.getEcoManager().getBalance(target.uuid());
+                    CC.send(sender, "&e" + target.name() + "'s Balance: &f" + plugin.getEcoManager().format(bal));
                 } else {
                     CC.send(sender, "&cPlayer not found!");
                 }
@@ -50,14 +49,14 @@ public class BalanceCommand implements CommandExecutor {
             return true;
         }
 
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[0]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
+        NameIndex.Entry target = plugin.getNames().resolve(args[0]);
+        if (target == null) {
             CC.sendPrefixed(player, "&cPlayer never played before.");
             return true;
         }
 
-        double bal = plugin.getEcoManager().getBalance(target);
-        CC.sendPrefixed(player, "&e" + target.getName() + "'s Balance: &a" + plugin.getEcoManager().format(bal));
+        double bal = plugin.getEcoManager().getBalance(target.uuid());
+        CC.sendPrefixed(player, "&e" + target.name() + "'s Balance: &a" + plugin.getEcoManager().format(bal));
         Sounds.click(player);
         
         return true;
@@ -1,6 +1,9 @@
 package com.onous.core.command;
 
 import com.onous.core.OnousCore;
+import com.onous.core.economy.BulkJob;
+import com.onous.core.economy.EcoManager;
+import com.onous.core.manager.NameIndex;
 import com.onous.core.util.CC;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
@@ -11,7 +14,11 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 public class EcoCommand implements CommandExecutor, TabCompleter {
@@ -31,18 +38,30 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
+        if (args.length >= 1 && args[0].equalsIgnoreCase("job")) {
+            handleJob(sender, args.length >= 2 ? args[1].toLowerCase() : "status");
+            return true;
+        }
+
         if (args.length < 3) {
-            CC.send(sender, "&cUsage: /eco <give|take|set> <player> <amount>");
+            CC.send(sender, "&cUsage: /eco <give|take|set> <player|*|all> <amount> [filters]");
             return true;
         }
 
         String action = args[0].toLowerCase();
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[1]);
-        
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
+
+        // Bulk: * = semua player online, all = semua akun yang dikenal
+        if (args[1].equals("*") || args[1].equalsIgnoreCase("all")) {
+            handleBulk(sender, action, args);
+            return true;
+        }
+
+        NameIndex.Entry entry = plugin.getNames().resolve(args[1]);
+        if (entry == null) {
             CC.send(sender, "&cPlayer not found.");
             return true;
         }
+        OfflinePlayer target = Bukkit.getOfflinePlayer(entry.uuid());
 
         // ✅ Gunakan parser baru
         double amount = plugin.getEcoManager().parseAmount(args[2]);
@@ -76,21 +95,201 @@ public class EcoCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    // ═══════════════════════════════════════
+    // Bulk
+    // ═══════════════════════════════════════
+
+    /**
+     * /eco <give|take|set> <*|all> <amount> [balance:<min>-<max>] [seen:<time>] [unseen:<time>]
+     */
+    private void handleBulk(CommandSender sender, String actionName, String[] args) {
+        BulkJob.Action action = switch (actionName) {
+            case "give", "add" -> BulkJob.Action.GIVE;
+            case "take", "remove" -> BulkJob.Action.TAKE;
+            case "set" -> BulkJob.Action.SET;
+            default -> null;
+        };
+        if (action == null) {
+            CC.send(sender, "&cUnknown action. Use give, take, or set.");
+            return;
+        }
+
+        EcoManager eco = plugin.getEcoManager();
+        double amount = eco.parseAmount(args[2]);
+        if (amount < 0) {
+            CC.send(sender, "&cInvalid amount format! Use: 100, 10k, 1.5m");
+            return;
+        }
+
+        if (eco.getBulkJob() != null) {
+            CC.send(sender, "&cAnother bulk job is still running. Use &f/eco job");
+            return;
+        }
+
+        // Filter
+        long minBalance = 0;
+        long maxBalance = Long.MAX_VALUE;
+        long seenWithin = -1;
+        long unseenFor = -1;
+
+        for (int i = 3; i < args.length; i++) {
+            String arg = args[i].toLowerCase(Locale.ROOT);
+            int colon = arg.indexOf(':');
+            String key = colon > 0 ? arg.substring(0, colon) : arg;
+            String value = colon > 0 ? arg.substring(colon + 1) : "";
+
+            switch (key) {
+                case "balance" -> {
+                    int dash = value.indexOf('-');
+                    double min = dash < 0 ? -1 : dash == 0 ? 0 : eco.parseAmount(value.substring(0, dash));
+                    double max = dash < 0 || dash == value.length() - 1 ? Double.MAX_VALUE
+                            : eco.parseAmount(value.substring(dash + 1));
+                    if (min < 0 || max < 0 || min > max) {
+                        CC.send(sender, "&cInvalid balance filter. Use: balance:<min>-<max> (e.g. balance:1k-1m, balance:1m-)");
+                        return;
+                    }
+                    minBalance = EcoManager.toMinor(min);
+                    maxBalance = max == Double.MAX_VALUE ? Long.MAX_VALUE : EcoManager.toMinor(max);
+                }
+                case "seen", "unseen" -> {
+                    long millis = parseDuration(value);
+                    if (millis <= 0) {
+                        CC.send(sender, "&cInvalid time. Use: 30m, 12h, 7d, 4w");
+                        return;
+                    }
+                    if (key.equals("seen")) seenWithin = millis;
+                    else unseenFor = millis;
+                }
+                default -> {
+                    CC.send(sender, "&cUnknown filter: " + args[i] + " &7(balance:, seen:, unseen:)");
+                    return;
+                }
+            }
+        }
+
+        boolean online = args[1].equals("*");
+        Set<UUID> targets = selectTargets(online, seenWithin, unseenFor);
+        if (targets.isEmpty()) {
+            CC.send(sender, "&cNo accounts match.");
+            return;
+        }
+
+        StringBuilder description = new StringBuilder(action.name().toLowerCase(Locale.ROOT))
+                .append(' ').append(eco.format(amount))
+                .append(online ? " (online)" : " (all)");
+        for (int i = 3; i < args.length; i++) {
+            description.append(' ').append(args[i].toLowerCase(Locale.ROOT));
+        }
+
+        BulkJob job = new BulkJob(plugin, sender, action, EcoManager.toMinor(amount), targets,
+                minBalance, maxBalance, description.toString());
+        eco.startBulk(job);
+        CC.send(sender, "&aStarted bulk " + description + " for &f" + CC.formatNumber(targets.size())
+                + " &aaccount(s). Use &f/eco job &ato check progress.");
+    }
+
+    /**
+     * Target bulk. Filter last-seen memakai NameIndex; akun tanpa data
+     * last-seen (mis. akun Vault milik plugin lain) tidak lolos filter waktu.
+     */
+    private Set<UUID> selectTargets(boolean onlineOnly, long seenWithin, long unseenFor) {
+        Set<UUID> targets = new LinkedHashSet<>();
+
+        if (onlineOnly) {
+            // Player online dianggap "terlihat sekarang"
+            if (unseenFor < 0) {
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    targets.add(player.getUniqueId());
+                }
+            }
+            return targets;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean timeFilter = seenWithin >= 0 || unseenFor >= 0;
+
+        if (!timeFilter) {
+            targets.addAll(plugin.getEcoManager().getAccountIds());
+        }
+
+        for (NameIndex.Entry entry : plugin.getNames().entries()) {
+            boolean isOnline = Bukkit.getPlayer(entry.uuid()) != null;
+            long age = isOnline ? 0 : now - entry.lastSeen();
+
+            if (seenWithin >= 0 && age > seenWithin) continue;
+            if (unseenFor >= 0 && (isOnline || age < unseenFor)) continue;
+            targets.add(entry.uuid());
+        }
+        return targets;
+    }
+
+    private void handleJob(CommandSender sender, String action) {
+        BulkJob job = plugin.getEcoManager().getBulkJob();
+        if (job == null) {
+            CC.send(sender, "&7No bulk job is running.");
+            return;
+        }
+
+        switch (action) {
+            case "pause" -> CC.send(sender, job.pause()
+                    ? "&ePaused bulk " + job.getDescription() + " at " + job.getProgress()
+                    : "&cJob is already paused.");
+            case "resume" -> CC.send(sender, job.resume()
+                    ? "&aResumed bulk " + job.getDescription()
+                    : "&cJob is not paused.");
+            case "cancel" -> job.cancel("cancelled by " + sender.getName());
+            default -> CC.send(sender, "&7Bulk " + job.getDescription() + ": &f" + job.getProgress()
+                    + (job.isPaused() ? " &e(paused)" : "") + " &7- " + job.getAffected() + " changed");
+        }
+    }
+
+    /**
+     * 30m, 12h, 7d, 4w → milidetik (-1 kalau tidak valid).
+     */
+    private long parseDuration(String input) {
+        if (input.length() < 2) return -1;
+
+        long unit = switch (input.charAt(input.length() - 1)) {
+            case 's' -> 1_000L;
+            case 'm' -> 60_000L;
+            case 'h' -> 3_600_000L;
+            case 'd' -> 86_400_000L;
+            case 'w' -> 604_800_000L;
+            default -> -1;
+        };
+        if (unit < 0) return -1;
+
+        try {
+            return Long.parseLong(input.substring(0, input.length() - 1)) * unit;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (args.length == 1) {
-            return List.of("give", "take", "set");
+            return List.of("give", "take", "set", "job");
+        }
+        if (args.length == 2 && args[0].equalsIgnoreCase("job")) {
+            return List.of("status", "pause", "resume", "cancel");
         }
         if (args.length == 2) {
             String input = args[1].toLowerCase();
-            return Bukkit.getOnlinePlayers().stream()
+            List<String> names = new ArrayList<>(List.of("*", "all"));
+            Bukkit.getOnlinePlayers().stream()
                     .map(Player::getName)
+                    .forEach(names::add);
+            return names.stream()
                     .filter(name -> name.toLowerCase().startsWith(input))
                     .collect(Collectors.toList());
         }
         if (args.length == 3) {
             return List.of("100", "1k", "10k", "1m", "1b");
         }
+        if (args.length >= 4 && (args[1].equals("*") || args[1].equalsIgnoreCase("all"))) {
+            return List.of("balance:", "seen:7d", "unseen:30d");
+        }
         return new ArrayList<>();
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.onous.core.command;
 import com.onous.core.OnousCore;
 import com.onous.core.data.PlayerData;
 import com.onous.core.gui.PayConfirmGUI;
+import com.onous.core.manager.NameIndex;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
 import org.bukkit.Bukkit;
@@ -39,11 +40,13 @@ public class PayCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        OfflinePlayer target = Bukkit.getOfflinePlayer(args[0]);
-        if (!target.hasPlayedBefore() && !target.isOnline()) {
+        // Lookup lewat name index (O(1), tanpa lookup profile)
+        NameIndex.Entry entry = plugin.getNames().resolve(args[0]);
+        if (entry == null) {
             CC.sendPrefixed(player, "&cPlayer not found.");
             return true;
         }
+        OfflinePlayer target = Bukkit.getOfflinePlayer(entry.uuid());
 
         if (target.getUniqueId().equals(player.getUniqueId())) {
             CC.sendPrefixed(player, "&cYou cannot pay yourself.");
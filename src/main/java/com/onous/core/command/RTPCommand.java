@@ -2,6 +2,8 @@ package com.onous.core.command;
 
 import com.onous.core.OnousCore;
 import com.onous.core.gui.RTPGUI;
+import com.onous.core.rtp.RTPPool;
+import com.onous.core.rtp.RegionCache;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
 import org.bukkit.command.Command;
@@ -15,6 +17,7 @@ import java.util.List;
 
 /**
  * /rtp - Open Random Teleport GUI (DonutSMP-style)
+ * /rtp stats - Statistik antrian & pencarian RTP (admin)
  */
 public class RTPCommand implements CommandExecutor, TabCompleter {
 
@@ -31,6 +34,15 @@ public class RTPCommand implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(CommandSender sender, Command cmd, String label, String[] args) {
+        if (args.length >= 1 && args[0].equalsIgnoreCase("stats")) {
+            if (!sender.hasPermission("onous.rtp.stats")) {
+                CC.sendPrefixed(sender, plugin.getMessage("no-permission"));
+                return true;
+            }
+            sendStats(sender);
+            return true;
+        }
+
         if (!(sender instanceof Player player)) {
             CC.sendPrefixed(sender, plugin.getMessage("player-only"));
             return true;
@@ -47,9 +59,54 @@ public class RTPCommand implements CommandExecutor, TabCompleter {
         return true;
     }
 
+    private void sendStats(CommandSender sender) {
+        RTPPool rtp = plugin.getRTP();
+        RTPPool.Timing wait = rtp.getQueueWait();
+        RTPPool.Timing search = rtp.getSearchTime();
+
+        CC.send(sender, "&6RTP Stats");
+        CC.send(sender, "&7Ready: &f" + rtp.getReadyCount()
+                + " &7| Searching: &f" + rtp.getSearching()
+                + " &7| Waiting: &f" + rtp.getWaitingCount());
+        CC.send(sender, "&7Queue wait: &f" + wait.getCount() + " &7served, avg &f"
+                + millis(wait.getAverageMillis()) + " &7max &f" + millis(wait.getMaxMillis()));
+        CC.send(sender, "&7Search: &f" + search.getCount() + " &7chunks, avg &f"
+                + millis(search.getAverageMillis()) + " &7max &f" + millis(search.getMaxMillis())
+                + " &7(" + rtp.getSearchesFound() + " found, " + rtp.getSearchesEmpty() + " empty)");
+        CC.send(sender, "&7Timeouts: &f" + rtp.getTimeouts() + " &7| Cancelled: &f" + rtp.getCancels());
+
+        // Efektivitas sampler: makin tinggi success rate, makin sedikit load per RTP
+        long found = rtp.getSearchesFound();
+        long attempts = found + rtp.getSearchesEmpty();
+        CC.send(sender, "&7Success rate: &f" + percent(found, attempts)
+                + " &7| Chunk loads per hit: &f"
+                + (found == 0 ? "-" : String.format("%.2f", (double) rtp.getChunkLoads() / found)));
+
+        int threshold = rtp.getRejectThreshold();
+        for (RegionCache cache : rtp.getRegionCaches()) {
+            long samples = cache.getHits() + cache.getMisses();
+            CC.send(sender, "&7Regions &f" + cache.getWorldName() + "&7: &f"
+                    + cache.getRejectedCount(threshold) + " &7rejected / &f" + cache.getTrackedCount()
+                    + " &7tracked, skipped &f" + cache.getHits() + " &7of &f" + samples
+                    + " &7samples (" + percent(cache.getHits(), samples) + ")");
+        }
+    }
+
+    private static String percent(long part, long total) {
+        return total == 0 ? "-" : String.format("%.1f%%", part * 100.0 / total);
+    }
+
+    private static String millis(double ms) {
+        return String.format("%.1fms", ms);
+    }
+
     @Override
     public List<String> onTabComplete(CommandSender sender, Command cmd, String alias, String[] args) {
-        // /rtp tidak punya argumen
-        return new ArrayList<>();
+        List<String> list = new ArrayList<>();
+        if (args.length == 1 && sender.hasPermission("onous.rtp.stats")
+                && "stats".startsWith(args[0].toLowerCase())) {
+            list.add("stats");
+        }
+        return list;
     }
 }
\ No newline at end of file
@@ -12,13 +12,14 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
  * TPA Command
  * /tpa <player> - Send teleport request
- * /tpaccept - Accept TPA request
- * /tpdeny - Deny TPA request
+ * /tpaccept [player] - Accept TPA request (default: terbaru)
+ * /tpdeny [player] - Deny TPA request (default: terbaru)
  */
 public class TPACommand implements CommandExecutor, TabCompleter {
 
@@ -72,8 +73,8 @@ public class TPACommand implements CommandExecutor, TabCompleter {
         
         return switch (cmd) {
             case "tpa" -> handleTPA(player, args);
-            case "tpaccept" -> handleAccept(player);
-            case "tpdeny" -> handleDeny(player);
+            case "tpaccept" -> handleAccept(player, args);
+            case "tpdeny" -> handleDeny(player, args);
             default -> false;
         };
     }
@@ -131,10 +132,10 @@ public class TPACommand implements CommandExecutor, TabCompleter {
     }
 
     // ═══════════════════════════════════════
-    // /tpaccept
+    // /tpaccept [player]
     // ═══════════════════════════════════════
     
-    private boolean handleAccept(Player player) {
+    private boolean handleAccept(Player player, String[] args) {
         // ─────────────────────────────────────
         // Permission Check
         // ─────────────────────────────────────
@@ -145,18 +146,24 @@ public class TPACommand implements CommandExecutor, TabCompleter {
         }
 
         // ─────────────────────────────────────
-        // Accept Latest Request
+        // Accept Request (by sender / latest)
         // ─────────────────────────────────────
-        plugin.getTPA().acceptLatest(player);
+        if (args.length > 0) {
+            UUID senderUUID = findSender(player, args[0]);
+            if (senderUUID == null) return true;
+            plugin.getTPA().accept(player, senderUUID);
+        } else {
+            plugin.getTPA().acceptLatest(player);
+        }
         
         return true;
     }
 
     // ═══════════════════════════════════════
-    // /tpdeny
+    // /tpdeny [player]
     // ═══════════════════════════════════════
     
-    private boolean handleDeny(Player player) {
+    private boolean handleDeny(Player player, String[] args) {
         // ─────────────────────────────────────
         // Permission Check
         // ─────────────────────────────────────
@@ -167,13 +174,35 @@ public class TPACommand implements CommandExecutor, TabCompleter {
         }
 
         // ─────────────────────────────────────
-        // Deny Latest Request
+        // Deny Request (by sender / latest)
         // ─────────────────────────────────────
-        plugin.getTPA().denyLatest(player);
+        if (args.length > 0) {
+            UUID senderUUID = findSender(player, args[0]);
+            if (senderUUID == null) return true;
+            plugin.getTPA().deny(player, senderUUID);
+        } else {
+            plugin.getTPA().denyLatest(player);
+        }
         
         return true;
     }
 
+    /**
+     * Cari sender request masuk berdasarkan nama (hanya dari request milik player ini).
+     */
+    private UUID findSender(Player player, String name) {
+        for (UUID senderUUID : plugin.getTPA().getIncoming(player.getUniqueId())) {
+            Player sender = Bukkit.getPlayer(senderUUID);
+            if (sender != null && sender.getName().equalsIgnoreCase(name)) {
+                return senderUUID;
+            }
+        }
+
+        CC.sendPrefixed(player, plugin.getMessage("tpa-no-pending"));
+        Sounds.error(player);
+        return null;
+    }
+
     // ═══════════════════════════════════════
     // Tab Completer
     // ═══════════════════════════════════════
@@ -206,8 +235,18 @@ public class TPACommand implements CommandExecutor, TabCompleter {
         }
 
         // ─────────────────────────────────────
-        // /tpaccept, /tpdeny - No args
+        // /tpaccept, /tpdeny [player] - Request masuk
         // ─────────────────────────────────────
+        if ((cmd.equals("tpaccept") || cmd.equals("tpdeny")) && args.length == 1) {
+            String input = args[0].toLowerCase();
+
+            return plugin.getTPA().getIncoming(player.getUniqueId()).stream()
+                    .map(Bukkit::getPlayer)
+                    .filter(p -> p != null)
+                    .map(Player::getName)
+                    .filter(name -> name.toLowerCase().startsWith(input))
+                    .collect(Collectors.toList());
+        }
         
         return new ArrayList<>();
     }
@@ -24,6 +24,7 @@ import java.util.stream.Collectors;
  *
  *  - /tpahere *
  *      Teleport semua online player ke kita, TANPA Confirm GUI.
+ *      Bertahap beberapa player per tick (lihat MassTeleport).
  *      Kecuali:
  *        • diri sendiri
  *        • player dengan permission onous.tpahere.exempt
@@ -85,19 +86,17 @@ public class TPAHereCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        Location dest = sender.getLocation().clone();
-        int count = 0;
-
+        List<Player> targets = new ArrayList<>();
         for (Player p : Bukkit.getOnlinePlayers()) {
             if (p.equals(sender)) continue;
             if (p.hasPermission("onous.tpahere.exempt")) continue;
-
-            plugin.getTeleport().teleportInstant(p, dest);
-            CC.actionBar(p, CC.PRIMARY + "→ " + CC.WHITE + sender.getName());
-            count++;
+            targets.add(p);
         }
 
-        CC.sendPrefixed(sender, CC.SUCCESS + "Teleported " + CC.PRIMARY + count + CC.SUCCESS + " players to you.");
+        // Job bertahap; laporan selesai dikirim oleh job
+        plugin.getTeleport().startMass(sender, sender.getLocation(), targets, "you",
+                CC.PRIMARY + "→ " + CC.WHITE + sender.getName());
+        CC.sendPrefixed(sender, CC.GRAY + "Teleporting " + CC.PRIMARY + targets.size() + CC.GRAY + " players to you...");
         Sounds.success(sender);
 
         int cd = Math.max(5, plugin.getConfig().getInt("cooldowns.tpahere", 30));
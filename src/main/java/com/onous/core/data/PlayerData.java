@@ -1,5 +1,6 @@
 package com.onous.core.data;
 
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -36,14 +37,17 @@ public class PlayerData {
     private boolean godEnabled;
 
     // ═══════════════════════════════════════
-    // Economy
+    // Message Reply
     // ═══════════════════════════════════════
-    private long balance;
+    private UUID lastMessageFrom;
 
     // ═══════════════════════════════════════
-    // Message Reply
+    // Dirty Tracking
     // ═══════════════════════════════════════
-    private UUID lastMessageFrom;
+    // true = ada perubahan yang belum disimpan.
+    // lastMessageFrom tidak dipersist, jadi tidak ikut menandai dirty.
+    // volatile: write-back bisa jalan dari thread async (evict LRU).
+    private volatile boolean dirty;
 
     // ═══════════════════════════════════════
     // Constructor
@@ -67,10 +71,10 @@ public class PlayerData {
         this.flyEnabled = false;
         this.godEnabled = false;
 
-        // Balance akan di-set oleh DataManager (starting-balance)
-        this.balance = 0;
-
         this.lastMessageFrom = null;
+
+        // Record baru belum pernah disimpan
+        this.dirty = true;
     }
 
     // ═══════════════════════════════════════
@@ -85,7 +89,10 @@ public class PlayerData {
     }
 
     public void setLastName(String lastName) {
-        this.lastName = lastName;
+        if (!Objects.equals(this.lastName, lastName)) {
+            this.lastName = lastName;
+            markDirty();
+        }
     }
 
     // ═══════════════════════════════════════
@@ -96,7 +103,10 @@ public class PlayerData {
     }
 
     public void setTpaEnabled(boolean tpaEnabled) {
-        this.tpaEnabled = tpaEnabled;
+        if (this.tpaEnabled != tpaEnabled) {
+            this.tpaEnabled = tpaEnabled;
+            markDirty();
+        }
     }
 
     public boolean isMsgEnabled() {
@@ -104,7 +114,10 @@ public class PlayerData {
     }
 
     public void setMsgEnabled(boolean msgEnabled) {
-        this.msgEnabled = msgEnabled;
+        if (this.msgEnabled != msgEnabled) {
+            this.msgEnabled = msgEnabled;
+            markDirty();
+        }
     }
 
     public boolean isSoundEnabled() {
@@ -112,7 +125,10 @@ public class PlayerData {
     }
 
     public void setSoundEnabled(boolean soundEnabled) {
-        this.soundEnabled = soundEnabled;
+        if (this.soundEnabled != soundEnabled) {
+            this.soundEnabled = soundEnabled;
+            markDirty();
+        }
     }
 
     public boolean isRandomTpaEnabled() {
@@ -120,7 +136,10 @@ public class PlayerData {
     }
 
     public void setRandomTpaEnabled(boolean randomTpaEnabled) {
-        this.randomTpaEnabled = randomTpaEnabled;
+        if (this.randomTpaEnabled != randomTpaEnabled) {
+            this.randomTpaEnabled = randomTpaEnabled;
+            markDirty();
+        }
     }
 
     public boolean isPrivacyMode() {
@@ -128,7 +147,10 @@ public class PlayerData {
     }
 
     public void setPrivacyMode(boolean privacyMode) {
-        this.privacyMode = privacyMode;
+        if (this.privacyMode != privacyMode) {
+            this.privacyMode = privacyMode;
+            markDirty();
+        }
     }
 
     public boolean isAutoTpa() {
@@ -136,7 +158,10 @@ public class PlayerData {
     }
 
     public void setAutoTpa(boolean autoTpa) {
-        this.autoTpa = autoTpa;
+        if (this.autoTpa != autoTpa) {
+            this.autoTpa = autoTpa;
+            markDirty();
+        }
     }
 
     public boolean isAutoTpaHere() {
@@ -144,7 +169,10 @@ public class PlayerData {
     }
 
     public void setAutoTpaHere(boolean autoTpaHere) {
-        this.autoTpaHere = autoTpaHere;
+        if (this.autoTpaHere != autoTpaHere) {
+            this.autoTpaHere = autoTpaHere;
+            markDirty();
+        }
     }
 
     public boolean isAutoFriendTp() {
@@ -152,7 +180,10 @@ public class PlayerData {
     }
 
     public void setAutoFriendTp(boolean autoFriendTp) {
-        this.autoFriendTp = autoFriendTp;
+        if (this.autoFriendTp != autoFriendTp) {
+            this.autoFriendTp = autoFriendTp;
+            markDirty();
+        }
     }
 
     public boolean isFriendJoinNotify() {
@@ -160,7 +191,10 @@ public class PlayerData {
     }
 
     public void setFriendJoinNotify(boolean friendJoinNotify) {
-        this.friendJoinNotify = friendJoinNotify;
+        if (this.friendJoinNotify != friendJoinNotify) {
+            this.friendJoinNotify = friendJoinNotify;
+            markDirty();
+        }
     }
 
     // ═══════════════════════════════════════
@@ -171,7 +205,10 @@ public class PlayerData {
     }
 
     public void setFlyEnabled(boolean flyEnabled) {
-        this.flyEnabled = flyEnabled;
+        if (this.flyEnabled != flyEnabled) {
+            this.flyEnabled = flyEnabled;
+            markDirty();
+        }
     }
 
     public boolean isGodEnabled() {
@@ -179,30 +216,10 @@ public class PlayerData {
     }
 
     public void setGodEnabled(boolean godEnabled) {
-        this.godEnabled = godEnabled;
-    }
-
-    // ═══════════════════════════════════════
-    // Economy
-    // ═══════════════════════════════════════
-    public long getBalance() {
-        return balance;
-    }
-
-    public void setBalance(long balance) {
-        this.balance = Math.max(0, balance);
-    }
-
-    public void addBalance(long amount) {
-        this.balance = Math.max(0, this.balance + amount);
-    }
-
-    public void removeBalance(long amount) {
-        this.balance = Math.max(0, this.balance - amount);
-    }
-
-    public boolean hasBalance(long amount) {
-        return this.balance >= amount;
+        if (this.godEnabled != godEnabled) {
+            this.godEnabled = godEnabled;
+            markDirty();
+        }
     }
 
     // ═══════════════════════════════════════
@@ -227,47 +244,47 @@ public class PlayerData {
     public boolean toggle(String setting) {
         switch (setting.toLowerCase()) {
             case "tpa" -> {
-                tpaEnabled = !tpaEnabled;
+                setTpaEnabled(!tpaEnabled);
                 return tpaEnabled;
             }
             case "msg" -> {
-                msgEnabled = !msgEnabled;
+                setMsgEnabled(!msgEnabled);
                 return msgEnabled;
             }
             case "sound" -> {
-                soundEnabled = !soundEnabled;
+                setSoundEnabled(!soundEnabled);
                 return soundEnabled;
             }
             case "randomtpa" -> {
-                randomTpaEnabled = !randomTpaEnabled;
+                setRandomTpaEnabled(!randomTpaEnabled);
                 return randomTpaEnabled;
             }
             case "privacy" -> {
-                privacyMode = !privacyMode;
+                setPrivacyMode(!privacyMode);
                 return privacyMode;
             }
             case "autotpa" -> {
-                autoTpa = !autoTpa;
+                setAutoTpa(!autoTpa);
                 return autoTpa;
             }
             case "autotpahere" -> {
-                autoTpaHere = !autoTpaHere;
+                setAutoTpaHere(!autoTpaHere);
                 return autoTpaHere;
             }
             case "autofriendtp" -> {
-                autoFriendTp = !autoFriendTp;
+                setAutoFriendTp(!autoFriendTp);
                 return autoFriendTp;
             }
             case "friendjoinnotify" -> {
-                friendJoinNotify = !friendJoinNotify;
+                setFriendJoinNotify(!friendJoinNotify);
                 return friendJoinNotify;
             }
             case "fly" -> {
-                flyEnabled = !flyEnabled;
+                setFlyEnabled(!flyEnabled);
                 return flyEnabled;
             }
             case "god" -> {
-                godEnabled = !godEnabled;
+                setGodEnabled(!godEnabled);
                 return godEnabled;
             }
             default -> {
@@ -303,10 +320,50 @@ public class PlayerData {
         this.autoTpaHere = false;
         this.autoFriendTp = false;
         this.friendJoinNotify = true;
+        markDirty();
     }
 
     public void resetStaffStates() {
         this.flyEnabled = false;
         this.godEnabled = false;
+        markDirty();
+    }
+
+    // ═══════════════════════════════════════
+    // Dirty Tracking
+    // ═══════════════════════════════════════
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    // ═══════════════════════════════════════
+    // Snapshot (untuk write-behind save)
+    // ═══════════════════════════════════════
+
+    public PlayerSnapshot snapshot() {
+        return new PlayerSnapshot(
+                uuid,
+                lastName,
+                tpaEnabled,
+                msgEnabled,
+                soundEnabled,
+                randomTpaEnabled,
+                privacyMode,
+                autoTpa,
+                autoTpaHere,
+                autoFriendTp,
+                friendJoinNotify,
+                flyEnabled,
+                godEnabled
+        );
     }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package com.onous.core.data;
+
+import java.util.UUID;
+
+/**
+ * Player Snapshot
+ * Salinan immutable dari {@link PlayerData} untuk ditulis ke disk
+ * di luar main thread (write-behind).
+ */
+public record PlayerSnapshot(
+        UUID uuid,
+        String lastName,
+        boolean tpaEnabled,
+        boolean msgEnabled,
+        boolean soundEnabled,
+        boolean randomTpaEnabled,
+        boolean privacyMode,
+        boolean autoTpa,
+        boolean autoTpaHere,
+        boolean autoFriendTp,
+        boolean friendJoinNotify,
+        boolean flyEnabled,
+        boolean godEnabled
+) {
+
+    /**
+     * Bangun kembali PlayerData dari snapshot
+     * (hasil load dari storage, atau snapshot yang masih antri).
+     * Hasilnya berstatus clean.
+     */
+    public PlayerData toPlayerData() {
+        PlayerData data = new PlayerData(uuid);
+        data.setLastName(lastName);
+        data.setTpaEnabled(tpaEnabled);
+        data.setMsgEnabled(msgEnabled);
+        data.setSoundEnabled(soundEnabled);
+        data.setRandomTpaEnabled(randomTpaEnabled);
+        data.setPrivacyMode(privacyMode);
+        data.setAutoTpa(autoTpa);
+        data.setAutoTpaHere(autoTpaHere);
+        data.setAutoFriendTp(autoFriendTp);
+        data.setFriendJoinNotify(friendJoinNotify);
+        data.setFlyEnabled(flyEnabled);
+        data.setGodEnabled(godEnabled);
+
+        // Sama persis dengan yang tersimpan / sedang disimpan
+        data.clearDirty();
+        return data;
+    }
+}
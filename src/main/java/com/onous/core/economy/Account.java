@@ -0,0 +1,21 @@
+package com.onous.core.economy;
+
+import java.util.UUID;
+
+/**
+ * Ledger Account
+ * Satu entry di ledger: balance dalam minor unit (lihat {@link EcoManager#SCALE}).
+ * Mutable supaya update balance tidak perlu alokasi / boxing.
+ *
+ * Tulis hanya di dalam stripe lock EcoManager; baca boleh tanpa lock (volatile).
+ */
+final class Account {
+
+    final UUID uuid;
+    volatile long balance;
+
+    Account(UUID uuid, long balance) {
+        this.uuid = uuid;
+        this.balance = balance;
+    }
+}
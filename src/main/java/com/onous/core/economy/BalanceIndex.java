@@ -0,0 +1,296 @@
+package com.onous.core.economy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Balance Index (leaderboard)
+ *
+ * Order-statistic treap dengan key (balance DESC, uuid ASC), di-update
+ * oleh EcoManager pada setiap mutasi balance. Tidak pernah sort / scan penuh:
+ *  - top(n)          O(log n + n)
+ *  - page(offset, n) O(log n + n)
+ *  - rankOf(...)     O(log n)
+ *  - insert / remove O(log n)
+ *
+ * Writer (EcoManager, di dalam stripe lock) tidak menyentuh lock index:
+ * {@link #set(UUID, long)} hanya mencatat balance terbaru ke map pending
+ * (ConcurrentHashMap, di-coalesce per akun). Treap dipegang monitor index
+ * sendiri dan pending di-apply saat query, jadi mutasi balance tidak
+ * pernah antri di 1 lock global.
+ *
+ * {@link #getVersion()} naik setiap ada perubahan, untuk cache turunan.
+ */
+public class BalanceIndex {
+
+    private static final class Node {
+        final UUID uuid;
+        final long balance;
+        final int priority;
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(UUID uuid, long balance, int priority) {
+            this.uuid = uuid;
+            this.balance = balance;
+            this.priority = priority;
+        }
+    }
+
+    // Balance terbaru yang belum masuk treap (writer → reader)
+    private final Map<UUID, Long> pending = new ConcurrentHashMap<>();
+
+    // Di bawah ini dijaga monitor index
+    private final Map<UUID, Long> indexed = new HashMap<>(); // balance yang ada di treap
+    private Node root;
+    private long version;
+
+    // ═══════════════════════════════════════
+    // Update (thread mana pun, tanpa lock index)
+    // ═══════════════════════════════════════
+
+    /**
+     * Catat balance terbaru akun. Update berikutnya untuk akun yang sama
+     * menimpa yang belum di-apply.
+     */
+    public void set(UUID uuid, long balance) {
+        pending.put(uuid, balance);
+    }
+
+    public synchronized void clear() {
+        pending.clear();
+        indexed.clear();
+        root = null;
+        version++;
+    }
+
+    public synchronized long getVersion() {
+        drain();
+        return version;
+    }
+
+    public synchronized int size() {
+        drain();
+        return size(root);
+    }
+
+    /**
+     * Apply semua pending ke treap. Wajib pegang monitor index.
+     *
+     * Entry pending hanya dihapus kalau nilainya masih sama dengan yang
+     * dibaca; kalau writer menimpa di tengah jalan, nilai baru tetap
+     * tertinggal untuk drain berikutnya.
+     */
+    private void drain() {
+        if (pending.isEmpty()) return;
+
+        boolean changed = false;
+        for (Map.Entry<UUID, Long> entry : pending.entrySet()) {
+            UUID uuid = entry.getKey();
+            Long balance = entry.getValue();
+            pending.remove(uuid, balance);
+
+            Long old = indexed.put(uuid, balance);
+            if (old != null) {
+                if (old.longValue() == balance.longValue()) continue;
+                root = remove(root, uuid, old);
+            }
+            root = insert(root, new Node(uuid, balance, ThreadLocalRandom.current().nextInt()));
+            changed = true;
+        }
+        if (changed) version++;
+    }
+
+    // ═══════════════════════════════════════
+    // Query
+    // ═══════════════════════════════════════
+
+    /**
+     * Top balance, urut descending.
+     */
+    public List<Map.Entry<UUID, Long>> top(int limit) {
+        return page(0, limit);
+    }
+
+    /**
+     * Ambil {@code limit} entry mulai dari posisi {@code offset} (0 = #1).
+     */
+    public synchronized List<Map.Entry<UUID, Long>> page(int offset, int limit) {
+        drain();
+        List<Map.Entry<UUID, Long>> out = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        if (offset >= 0 && limit > 0) {
+            collect(root, offset, limit, out);
+        }
+        return out;
+    }
+
+    /**
+     * Rank (1 = tertinggi) untuk akun dengan balance tersebut.
+     */
+    public synchronized int rankOf(UUID uuid, long balance) {
+        drain();
+        int before = 0;
+        Node node = root;
+
+        while (node != null) {
+            int cmp = compare(balance, uuid, node.balance, node.uuid);
+            if (cmp <= 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return before + 1;
+    }
+
+    /**
+     * Entry di rank tertentu (1-based), atau null kalau di luar jangkauan.
+     */
+    public synchronized Map.Entry<UUID, Long> get(int rank) {
+        drain();
+        int k = rank - 1;
+        if (k < 0 || k >= size(root)) return null;
+
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (k < leftSize) {
+                node = node.left;
+            } else if (k == leftSize) {
+                return Map.entry(node.uuid, node.balance);
+            } else {
+                k -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    // ═══════════════════════════════════════
+    // Treap
+    // ═══════════════════════════════════════
+
+    /**
+     * Urutan leaderboard: balance besar dulu, seri → uuid.
+     */
+    private static int compare(long balanceA, UUID uuidA, long balanceB, UUID uuidB) {
+        if (balanceA != balanceB) return balanceA > balanceB ? -1 : 1;
+        return uuidA.compareTo(uuidB);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void pull(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static Node insert(Node node, Node item) {
+        if (node == null) return item;
+
+        if (item.priority > node.priority) {
+            Node[] parts = split(node, item.balance, item.uuid);
+            item.left = parts[0];
+            item.right = parts[1];
+            pull(item);
+            return item;
+        }
+
+        if (compare(item.balance, item.uuid, node.balance, node.uuid) < 0) {
+            node.left = insert(node.left, item);
+        } else {
+            node.right = insert(node.right, item);
+        }
+        pull(node);
+        return node;
+    }
+
+    private static Node remove(Node node, UUID uuid, long balance) {
+        if (node == null) return null;
+
+        int cmp = compare(balance, uuid, node.balance, node.uuid);
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+
+        if (cmp < 0) {
+            node.left = remove(node.left, uuid, balance);
+        } else {
+            node.right = remove(node.right, uuid, balance);
+        }
+        pull(node);
+        return node;
+    }
+
+    /**
+     * @return [key &lt; (balance, uuid), key &gt;= (balance, uuid)]
+     */
+    private static Node[] split(Node node, long balance, UUID uuid) {
+        if (node == null) return new Node[] {null, null};
+
+        if (compare(node.balance, node.uuid, balance, uuid) < 0) {
+            Node[] parts = split(node.right, balance, uuid);
+            node.right = parts[0];
+            pull(node);
+            parts[0] = node;
+            return parts;
+        }
+
+        Node[] parts = split(node.left, balance, uuid);
+        node.left = parts[1];
+        pull(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            pull(left);
+            return left;
+        }
+
+        right.left = merge(left, right.left);
+        pull(right);
+        return right;
+    }
+
+    /**
+     * In-order traversal, subtree di luar jangkauan dilewati pakai size.
+     *
+     * @return sisa entry yang masih perlu dilewati
+     */
+    private static int collect(Node node, int skip, int limit, List<Map.Entry<UUID, Long>> out) {
+        if (node == null || out.size() >= limit) return skip;
+
+        int leftSize = size(node.left);
+        if (skip >= leftSize) {
+            skip -= leftSize;
+        } else {
+            skip = collect(node.left, skip, limit, out);
+        }
+        if (out.size() >= limit) return skip;
+
+        if (skip > 0) {
+            skip--;
+        } else {
+            out.add(Map.entry(node.uuid, node.balance));
+        }
+
+        if (skip >= size(node.right)) {
+            return skip - size(node.right);
+        }
+        return collect(node.right, skip, limit, out);
+    }
+}
@@ -0,0 +1,226 @@
+package com.onous.core.economy;
+
+import com.onous.core.OnousCore;
+import com.onous.core.util.BalanceFormat;
+import com.onous.core.util.CC;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Bulk Economy Job
+ *
+ * give / take / set ke banyak akun sekaligus (/eco ... * | all):
+ *  - Target di-snapshot saat job dibuat, lalu diproses per chunk tiap tick
+ *      (economy.bulk-chunk-size akun per tick)
+ *  - Tiap chunk = 1x lock ledger + 1 batch journal (lihat EcoManager#applyBulk)
+ *  - Tidak ada save per akun: akun hanya ditandai dirty, lalu 1x flush di akhir job
+ *  - Bisa di-pause / resume / cancel; progress dilaporkan berkala ke pengirim
+ */
+public class BulkJob {
+
+    public enum Action {
+        GIVE(EcoJournal.OP_DEPOSIT),
+        TAKE(EcoJournal.OP_WITHDRAW),
+        SET(EcoJournal.OP_SET);
+
+        final byte op;
+
+        Action(byte op) {
+            this.op = op;
+        }
+    }
+
+    /** Hasil 1 chunk: jumlah akun yang diubah dan total perubahan balance (minor unit). */
+    public record Result(int affected, long delta) {}
+
+    private static final long REPORT_INTERVAL_MS = 2_000L;
+
+    private final OnousCore plugin;
+    private final EcoManager eco;
+    private final CommandSender sender;
+    private final Action action;
+    private final long amount;
+    private final long minBalance;
+    private final long maxBalance;
+    private final UUID[] targets;
+    private final String description;
+    private final int chunkSize;
+
+    private int cursor;
+    private int affected;
+    private long delta;
+
+    private BukkitTask task;
+    private boolean paused;
+    private boolean finished;
+    private long startedAt;
+    private long lastReport;
+
+    /**
+     * @param amount     dalam minor unit
+     * @param minBalance filter balance (minor unit, inklusif), dicek saat akun diproses
+     * @param maxBalance filter balance (minor unit, inklusif)
+     */
+    public BulkJob(OnousCore plugin, CommandSender sender, Action action, long amount,
+                   Collection<UUID> targets, long minBalance, long maxBalance, String description) {
+        this.plugin = plugin;
+        this.eco = plugin.getEcoManager();
+        this.sender = sender;
+        this.action = action;
+        this.amount = amount;
+        this.minBalance = minBalance;
+        this.maxBalance = maxBalance;
+        this.targets = targets.toArray(new UUID[0]);
+        this.description = description;
+        this.chunkSize = Math.max(1, plugin.getConfig().getInt("economy.bulk-chunk-size", 1000));
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle (main thread)
+    // ═══════════════════════════════════════
+
+    void start() {
+        startedAt = System.currentTimeMillis();
+        lastReport = startedAt;
+        schedule();
+    }
+
+    public boolean pause() {
+        if (finished || paused) return false;
+        paused = true;
+        stopTask();
+        return true;
+    }
+
+    public boolean resume() {
+        if (finished || !paused) return false;
+        paused = false;
+        schedule();
+        return true;
+    }
+
+    /**
+     * Hentikan job. Chunk yang sudah diproses tetap berlaku (dan tetap di-flush).
+     */
+    public void cancel(String reason) {
+        if (finished) return;
+        finished = true;
+        stopTask();
+        eco.flushDirty(Integer.MAX_VALUE);
+
+        String message = "Bulk " + description + " cancelled (" + reason + ") after "
+                + getProgress() + ", " + affected + " account(s) changed.";
+        send("&c" + message);
+        log(message);
+    }
+
+    private void schedule() {
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void stopTask() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Processing
+    // ═══════════════════════════════════════
+
+    private void tick() {
+        if (finished || paused) return;
+
+        int end = Math.min(cursor + chunkSize, targets.length);
+        Result result = eco.applyBulk(this, targets, cursor, end);
+        cursor = end;
+        affected += result.affected();
+        delta += result.delta();
+
+        if (cursor >= targets.length) {
+            complete();
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        if (now - lastReport >= REPORT_INTERVAL_MS) {
+            lastReport = now;
+            send("&7Bulk " + description + ": &f" + getProgress());
+        }
+    }
+
+    private void complete() {
+        finished = true;
+        stopTask();
+
+        // 1x flush untuk seluruh job
+        eco.flushDirty(Integer.MAX_VALUE);
+
+        String message = "Bulk " + description + " finished: " + affected + " account(s) changed in "
+                + (System.currentTimeMillis() - startedAt) + " ms (net " + formatDelta() + ").";
+        send("&a" + message);
+        log(message);
+    }
+
+    /**
+     * Filter balance, dipanggil EcoManager di dalam lock.
+     */
+    boolean accepts(long balance) {
+        return balance >= minBalance && balance <= maxBalance;
+    }
+
+    /**
+     * Balance baru untuk akun ini (dibatasi 0 oleh ledger).
+     */
+    long apply(long balance) {
+        return switch (action) {
+            case GIVE -> EcoManager.addCapped(balance, amount);
+            case TAKE -> EcoManager.addCapped(balance, -amount);
+            case SET -> amount;
+        };
+    }
+
+    // ═══════════════════════════════════════
+    // Reporting
+    // ═══════════════════════════════════════
+
+    private void send(String message) {
+        if (sender instanceof Player player && !player.isOnline()) return;
+        CC.send(sender, message);
+    }
+
+    private void log(String message) {
+        // Console sudah menerima pesan lewat send()
+        if (!(sender instanceof ConsoleCommandSender)) {
+            plugin.getLogger().info(message + " (by " + sender.getName() + ")");
+        }
+    }
+
+    private String formatDelta() {
+        return (delta < 0 ? "-" : "+") + eco.formatMinor(Math.abs(delta));
+    }
+
+    public String getProgress() {
+        int percent = targets.length == 0 ? 100 : (int) (cursor * 100L / targets.length);
+        return BalanceFormat.grouped(cursor) + "/" + BalanceFormat.grouped(targets.length) + " (" + percent + "%)";
+    }
+
+    // ═══════════════════════════════════════
+    // Getters
+    // ═══════════════════════════════════════
+
+    public Action getAction() { return action; }
+    public long getAmount() { return amount; }
+    public String getDescription() { return description; }
+    public int getProcessed() { return cursor; }
+    public int getTotal() { return targets.length; }
+    public int getAffected() { return affected; }
+    public boolean isPaused() { return paused; }
+    public boolean isFinished() { return finished; }
+}
@@ -0,0 +1,418 @@
+package com.onous.core.economy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Economy Journal
+ *
+ * Append-only log biner untuk setiap perubahan balance:
+ *  - append() hanya menulis ke buffer di memori (tidak ada I/O di main thread)
+ *  - 1 thread sync menulis buffer ke FileChannel lalu fsync tiap interval
+ *      (group commit: banyak transaksi → 1 fsync)
+ *  - Record berisi balance HASIL transaksi, jadi replay idempotent:
+ *      replay = set balance terakhir per akun di atas snapshot storage
+ *  - Compaction: rotate ke economy.journal.old, tulis snapshot baru ke storage,
+ *      lalu file .old dihapus
+ *
+ * Format record (37 byte, big-endian):
+ *  [op:1][uuid-msb:8][uuid-lsb:8][amount:8][balance:8][crc32:4]
+ */
+public class EcoJournal {
+
+    public static final byte OP_SET = 1;
+    public static final byte OP_DEPOSIT = 2;
+    public static final byte OP_WITHDRAW = 3;
+    public static final byte OP_TRANSFER_OUT = 4;
+    public static final byte OP_TRANSFER_IN = 5;
+
+    private static final int RECORD_SIZE = 1 + 8 + 8 + 8 + 8 + 4;
+    private static final int PAYLOAD_SIZE = RECORD_SIZE - 4;
+
+    private final File file;
+    private final File oldFile;
+    private final Logger logger;
+    private final long syncIntervalMillis;
+
+    // Urutan lock: ioLock → bufferLock
+    private final Object ioLock = new Object();
+    private final Object bufferLock = new Object();
+    private final Object wakeLock = new Object();
+
+    private ByteBuffer active = ByteBuffer.allocate(RECORD_SIZE * 1024);
+    private ByteBuffer standby = ByteBuffer.allocate(RECORD_SIZE * 1024);
+    private ByteBuffer sealed; // record sebelum titik rotate, belum ditulis
+
+    private final CRC32 crc = new CRC32();
+
+    private FileChannel channel;
+    private Thread syncThread;
+    private volatile boolean running;
+
+    private volatile long fileSize;
+    private long appended;
+    private volatile long syncs;
+
+    public EcoJournal(File dataFolder, Logger logger, long syncIntervalMillis) {
+        this.file = new File(dataFolder, "economy.journal");
+        this.oldFile = new File(dataFolder, "economy.journal.old");
+        this.logger = logger;
+        this.syncIntervalMillis = Math.max(1, syncIntervalMillis);
+    }
+
+    // ═══════════════════════════════════════
+    // Replay (startup)
+    // ═══════════════════════════════════════
+
+    /**
+     * Baca economy.journal.old lalu economy.journal.
+     * Record terpotong / rusak di ekor file (crash saat menulis) dibuang.
+     *
+     * @return balance terakhir per akun yang tercatat di journal
+     */
+    public Map<UUID, Long> replay() throws IOException {
+        Map<UUID, Long> result = new HashMap<>();
+        int records = replayFile(oldFile, result) + replayFile(file, result);
+
+        if (records > 0) {
+            logger.info("Economy journal: replayed " + records + " record(s) for " + result.size() + " account(s).");
+        }
+        return result;
+    }
+
+    private int replayFile(File source, Map<UUID, Long> result) throws IOException {
+        if (!source.exists()) return 0;
+
+        int records = 0;
+        long valid = 0;
+
+        try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocate(RECORD_SIZE * 4096);
+            CRC32 check = new CRC32();
+
+            while (in.read(buf) > 0 || buf.position() > 0) {
+                buf.flip();
+                if (buf.remaining() < RECORD_SIZE) {
+                    if (in.position() >= in.size()) break;
+                    buf.compact();
+                    continue;
+                }
+
+                while (buf.remaining() >= RECORD_SIZE) {
+                    int start = buf.position();
+                    check.reset();
+                    check.update(buf.array(), start, PAYLOAD_SIZE);
+
+                    buf.get(); // op
+                    UUID uuid = new UUID(buf.getLong(), buf.getLong());
+                    buf.getLong(); // amount
+                    long balance = buf.getLong();
+                    int stored = buf.getInt();
+
+                    if ((int) check.getValue() != stored) {
+                        truncate(in, source, valid);
+                        return records;
+                    }
+
+                    result.put(uuid, balance);
+                    records++;
+                    valid += RECORD_SIZE;
+                }
+                buf.compact();
+            }
+
+            if (valid < in.size()) {
+                truncate(in, source, valid);
+            }
+        }
+        return records;
+    }
+
+    private void truncate(FileChannel in, File source, long validBytes) throws IOException {
+        logger.warning("Economy journal " + source.getName() + ": dropping " + (in.size() - validBytes)
+                + " byte(s) of incomplete data after the last valid record.");
+        in.truncate(validBytes);
+    }
+
+    /**
+     * Buang semua isi journal. Hanya dipanggil setelah snapshot lengkap
+     * berhasil ditulis ke storage.
+     */
+    public void reset() throws IOException {
+        synchronized (ioLock) {
+            Files.deleteIfExists(oldFile.toPath());
+            if (channel != null) {
+                channel.truncate(0);
+                channel.force(true);
+            } else {
+                Files.deleteIfExists(file.toPath());
+            }
+            fileSize = 0;
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    public void open() throws IOException {
+        synchronized (ioLock) {
+            channel = openChannel();
+            fileSize = channel.size();
+        }
+
+        running = true;
+        syncThread = new Thread(this::syncLoop, "OnousCore-Journal");
+        syncThread.setDaemon(true);
+        syncThread.start();
+    }
+
+    private FileChannel openChannel() throws IOException {
+        return FileChannel.open(file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Sync terakhir lalu tutup file.
+     *
+     * @param discard true kalau storage sudah up-to-date (isi journal dibuang)
+     */
+    public void close(boolean discard) {
+        running = false;
+        if (syncThread != null) {
+            // Jangan interrupt: FileChannel ikut tertutup kalau thread di-interrupt saat write
+            synchronized (wakeLock) {
+                wakeLock.notifyAll();
+            }
+            try {
+                syncThread.join(5_000L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (ioLock) {
+            try {
+                sync();
+                if (discard) reset();
+                if (channel != null) channel.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to close economy journal", e);
+            }
+            channel = null;
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Append
+    // ═══════════════════════════════════════
+
+    public void append(byte op, UUID uuid, long amount, long balance) {
+        synchronized (bufferLock) {
+            ensureCapacity(RECORD_SIZE);
+            put(op, uuid, amount, balance);
+        }
+    }
+
+    /**
+     * 2 record (keluar + masuk) dalam 1 append → selalu ikut fsync yang sama.
+     */
+    public void appendTransfer(UUID from, UUID to, long amount, long fromBalance, long toBalance) {
+        synchronized (bufferLock) {
+            ensureCapacity(RECORD_SIZE * 2);
+            put(OP_TRANSFER_OUT, from, amount, fromBalance);
+            put(OP_TRANSFER_IN, to, amount, toBalance);
+        }
+    }
+
+    /**
+     * Banyak record (bulk job) dalam 1 append → 1 kali ambil lock, ikut fsync yang sama.
+     */
+    public void appendBatch(byte op, long amount, UUID[] uuids, long[] balances, int count) {
+        synchronized (bufferLock) {
+            ensureCapacity(RECORD_SIZE * count);
+            for (int i = 0; i < count; i++) {
+                put(op, uuids[i], amount, balances[i]);
+            }
+        }
+    }
+
+    private void put(byte op, UUID uuid, long amount, long balance) {
+        int start = active.position();
+        active.put(op);
+        active.putLong(uuid.getMostSignificantBits());
+        active.putLong(uuid.getLeastSignificantBits());
+        active.putLong(amount);
+        active.putLong(balance);
+
+        crc.reset();
+        crc.update(active.array(), start, PAYLOAD_SIZE);
+        active.putInt((int) crc.getValue());
+        appended++;
+    }
+
+    private void ensureCapacity(int bytes) {
+        if (active.remaining() >= bytes) return;
+
+        // Burst lebih cepat dari interval sync → perbesar buffer
+        ByteBuffer bigger = ByteBuffer.allocate(Math.max(active.capacity() * 2, active.position() + bytes));
+        active.flip();
+        bigger.put(active);
+        active = bigger;
+    }
+
+    // ═══════════════════════════════════════
+    // Group Commit (sync thread)
+    // ═══════════════════════════════════════
+
+    private void syncLoop() {
+        while (running) {
+            synchronized (wakeLock) {
+                try {
+                    wakeLock.wait(syncIntervalMillis);
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+            if (!running) break;
+
+            synchronized (ioLock) {
+                try {
+                    sync();
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Failed to sync economy journal", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tulis semua record yang ter-buffer lalu fsync. Wajib pegang ioLock.
+     */
+    private void sync() throws IOException {
+        if (channel == null) return;
+
+        // Ambil sealed + swap active dalam 1 lock: kalau beginRotation() jalan
+        // di antaranya, record setelah titik rotate bisa masuk ke file lama
+        ByteBuffer rotated;
+        ByteBuffer toWrite = null;
+        synchronized (bufferLock) {
+            rotated = sealed;
+            sealed = null;
+            if (active.position() > 0) {
+                toWrite = active;
+                active = standby;
+                standby = toWrite;
+            }
+        }
+
+        // Urutan: sealed → rotate → active (ke journal baru)
+        if (rotated != null) rotate(rotated);
+        if (toWrite == null) return;
+
+        toWrite.flip();
+        while (toWrite.hasRemaining()) {
+            fileSize += channel.write(toWrite);
+        }
+        toWrite.clear();
+
+        channel.force(false);
+        syncs++;
+    }
+
+    // ═══════════════════════════════════════
+    // Compaction
+    // ═══════════════════════════════════════
+
+    /**
+     * Tandai titik rotate: record yang sudah di-append masuk ke file .old,
+     * record setelahnya masuk ke journal baru. Tidak ada I/O di sini;
+     * rotate fisik dilakukan thread sync.
+     *
+     * Setelah ini caller wajib menulis snapshot lengkap ke storage,
+     * lalu memanggil {@link #discardRotated()} kalau berhasil.
+     *
+     * @return false kalau masih ada .old dari compaction sebelumnya
+     */
+    public boolean beginRotation() {
+        synchronized (bufferLock) {
+            if (sealed != null || oldFile.exists()) return false;
+
+            sealed = active;
+            active = ByteBuffer.allocate(standby.capacity());
+            return true;
+        }
+    }
+
+    /**
+     * Snapshot di storage sudah mencakup semua record di .old → hapus.
+     * Kalau rotate fisik belum sempat jalan, dijalankan dulu di sini.
+     */
+    public void discardRotated() {
+        synchronized (ioLock) {
+            try {
+                ByteBuffer rotated;
+                synchronized (bufferLock) {
+                    rotated = sealed;
+                    sealed = null;
+                }
+                if (rotated != null) rotate(rotated);
+                Files.deleteIfExists(oldFile.toPath());
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Failed to discard rotated economy journal", e);
+            }
+        }
+    }
+
+    /**
+     * Tulis record sebelum titik rotate ke journal lama, lalu pindahkan ke .old.
+     * Wajib pegang ioLock.
+     */
+    private void rotate(ByteBuffer pending) throws IOException {
+        if (channel == null) return;
+
+        pending.flip();
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        channel.force(false);
+        channel.close();
+
+        Files.move(file.toPath(), oldFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        channel = openChannel();
+        fileSize = 0;
+    }
+
+    // ═══════════════════════════════════════
+    // Stats
+    // ═══════════════════════════════════════
+
+    public long getFileSize() {
+        return fileSize;
+    }
+
+    public long getAppendedCount() {
+        synchronized (bufferLock) {
+            return appended;
+        }
+    }
+
+    public long getSyncCount() {
+        return syncs;
+    }
+
+    public boolean hasRotatedFile() {
+        return oldFile.exists();
+    }
+}
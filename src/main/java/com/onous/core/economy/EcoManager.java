@@ -1,51 +1,545 @@
 package com.onous.core.economy;
 
 import com.onous.core.OnousCore;
+import com.onous.core.storage.PlayerStore;
+import com.onous.core.storage.WriteBehindQueue;
+import com.onous.core.util.BalanceFormat;
 import org.bukkit.OfflinePlayer;
-import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.logging.Level;
 
+/**
+ * Economy Ledger
+ * Satu-satunya sumber balance: Vault, command, placeholder, dan leaderboard
+ * semua membaca dari sini.
+ *
+ * Balance disimpan sebagai long dalam minor unit (1 coin = {@link #SCALE} unit),
+ * jadi tidak ada pembulatan floating-point dan tidak ada boxing Double.
+ * API double tetap ada untuk batas Vault / command.
+ *
+ * Mutasi hanya menandai akun dirty. Flusher terpisah menyimpan akun dirty
+ * dengan rate terbatas (economy.flush-interval / economy.flush-max-accounts),
+ * dan semua sisa di-flush eksplisit saat shutdown.
+ *
+ * Durability di antara flush dijamin {@link EcoJournal}: setiap mutasi
+ * di-append ke journal, di-replay saat startup, dan di-compact berkala.
+ *
+ * Thread-safety: semua operasi akun aman dipanggil dari thread mana pun
+ * (plugin shop / auction sering memanggil Vault secara async).
+ *  - Mutasi per akun di-lock per stripe (hash UUID → 1 dari {@link #STRIPES} lock),
+ *    jadi akun berbeda tidak saling menunggu
+ *  - Cek-lalu-kurangi (withdrawIfEnough) atomic di dalam 1 lock
+ *  - Transfer mengunci 2 stripe dengan urutan index → tidak bisa deadlock
+ *  - Append journal dilakukan di dalam lock, jadi urutan record per akun
+ *    sama dengan urutan mutasinya
+ */
 public class EcoManager {
 
+    /** Minor unit per 1 coin (2 digit desimal). */
+    public static final long SCALE = 100;
+
+    /** Balance maksimal (minor unit) = 1 kuadriliun coin, jauh di bawah batas long. */
+    public static final long MAX_BALANCE = 1_000_000_000_000_000L * SCALE;
+
+    private static final int STRIPES = 64; // harus pangkat 2
+
     private final OnousCore plugin;
-    private final File file;
-    private YamlConfiguration config;
-    private final Map<UUID, Double> balanceCache = new HashMap<>();
+    private final PlayerStore store;
+    private final WriteBehindQueue<UUID, Long> saveQueue;
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[STRIPES];
+
+    // Leaderboard, di-update bersama setiap mutasi balance
+    private final BalanceIndex index = new BalanceIndex();
+
+    // Akun yang berubah sejak terakhir disimpan.
+    // dirtyOrder = urutan perubahan pertama → akun paling lama dirty di-flush duluan.
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final Queue<UUID> dirtyOrder = new ConcurrentLinkedQueue<>();
 
-    public EcoManager(OnousCore plugin) {
+    private volatile long startingBalance;
+
+    private BukkitTask flushTask;
+    private int flushMaxAccounts;
+
+    // null kalau journal dimatikan / gagal dibuka
+    private EcoJournal journal;
+    private long compactBytes;
+    private volatile boolean compacting;
+
+    // Bulk job /eco yang sedang jalan (main thread)
+    private BulkJob bulkJob;
+
+    public EcoManager(OnousCore plugin, PlayerStore store) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "economy.yml");
+        this.store = store;
+        this.saveQueue = new WriteBehindQueue<>("economy", plugin.getLogger(),
+                store.getBalanceBatchSize(), store::saveBalances);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
         load();
+        openJournal();
+        rebuildIndex();
     }
 
     public void load() {
-        if (!file.exists()) {
-            try { file.createNewFile(); } catch (IOException e) { e.printStackTrace(); }
+        startingBalance = toMinor(plugin.getConfig().getDouble("economy.starting-balance", 1000.0));
+        accounts.clear();
+        try {
+            for (Map.Entry<UUID, Long> entry : store.loadBalances().entrySet()) {
+                accounts.put(entry.getKey(), new Account(entry.getKey(), entry.getValue()));
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to load balances from " + store.getName() + " storage", e);
         }
-        config = YamlConfiguration.loadConfiguration(file);
-        
-        balanceCache.clear();
-        if (config.contains("balances")) {
-            for (String key : config.getConfigurationSection("balances").getKeys(false)) {
-                try {
-                    balanceCache.put(UUID.fromString(key), config.getDouble("balances." + key));
-                } catch (IllegalArgumentException ignored) {}
+    }
+
+    /**
+     * Flush semua akun dirty dan tunggu sampai tertulis (sinkron).
+     *
+     * @return true kalau semua tertulis tanpa error
+     */
+    public boolean save() {
+        long failures = saveQueue.getFailedBatches();
+        flushDirty(Integer.MAX_VALUE);
+        return saveQueue.flush(10_000L) && saveQueue.getFailedBatches() == failures;
+    }
+
+    public void shutdown() {
+        if (bulkJob != null) {
+            bulkJob.cancel("server shutdown");
+            bulkJob = null;
+        }
+        stopFlusher();
+        boolean saved = save();
+        saveQueue.shutdown(10_000L);
+
+        // Storage sudah lengkap (dan tidak ada mutasi async susulan) → journal boleh dikosongkan
+        if (journal != null) {
+            journal.close(saved && dirty.isEmpty());
+            journal = null;
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Journal
+    // ═══════════════════════════════════════
+
+    private void openJournal() {
+        if (!plugin.getConfig().getBoolean("economy.journal.enabled", true)) return;
+
+        long syncMillis = plugin.getConfig().getLong("economy.journal.sync-interval-ms", 100);
+        compactBytes = plugin.getConfig().getLong("economy.journal.compact-size-kb", 8192) * 1024L;
+
+        EcoJournal opened = new EcoJournal(plugin.getDataFolder(), plugin.getLogger(), syncMillis);
+        try {
+            Map<UUID, Long> replayed = opened.replay();
+            for (Map.Entry<UUID, Long> entry : replayed.entrySet()) {
+                accounts.put(entry.getKey(), new Account(entry.getKey(), entry.getValue()));
+            }
+
+            // Jadikan snapshot dulu; journal hanya dikosongkan kalau berhasil
+            try {
+                store.saveBalances(replayed);
+                opened.reset();
+            } catch (Exception e) {
+                replayed.keySet().forEach(this::markDirty);
+                plugin.getLogger().log(Level.WARNING, "Failed to snapshot replayed balances, keeping journal", e);
             }
+            opened.open();
+            journal = opened;
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.SEVERE, "Failed to open economy journal, balance changes are only " +
+                    "persisted by the flusher until restart", e);
         }
     }
 
-    public void save() {
-        for (Map.Entry<UUID, Double> entry : balanceCache.entrySet()) {
-            config.set("balances." + entry.getKey().toString(), entry.getValue());
+    /**
+     * Compaction: rotate journal, antrikan snapshot SEMUA akun, lalu hapus
+     * journal lama setelah snapshot tertulis. Kalau write gagal, journal
+     * lama tetap ada dan ikut di-replay saat startup.
+     */
+    public void compactJournal() {
+        if (journal == null || compacting) return;
+        if (!journal.beginRotation()) return;
+
+        compacting = true;
+        for (Account account : accounts.values()) {
+            saveQueue.submit(account.uuid, account.balance);
         }
-        try { config.save(file); } catch (IOException e) { e.printStackTrace(); }
+
+        EcoJournal target = journal;
+        saveQueue.afterPending(success -> {
+            if (success) {
+                target.discardRotated();
+            } else {
+                plugin.getLogger().warning("Economy snapshot failed, keeping rotated journal for replay.");
+            }
+            compacting = false;
+        });
+    }
+
+    public EcoJournal getJournal() {
+        return journal;
     }
 
+    private void rebuildIndex() {
+        index.clear();
+        for (Account account : accounts.values()) {
+            index.set(account.uuid, account.balance);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Flusher
+    // ═══════════════════════════════════════
+
+    public void startFlusher() {
+        stopFlusher();
+
+        int intervalSec = plugin.getConfig().getInt("economy.flush-interval", 5);
+        flushMaxAccounts = Math.max(1, plugin.getConfig().getInt("economy.flush-max-accounts", 1000));
+
+        if (intervalSec <= 0) {
+            plugin.getLogger().warning("Economy flusher disabled, balances are only saved on shutdown.");
+            return;
+        }
+
+        long period = intervalSec * 20L;
+        flushTask = plugin.getServer().getScheduler().runTaskTimer(plugin, () -> {
+            flushDirty(flushMaxAccounts);
+            if (journal != null && journal.getFileSize() >= compactBytes) {
+                compactJournal();
+            }
+        }, period, period);
+    }
+
+    public void stopFlusher() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+    }
+
+    /**
+     * Snapshot maksimal {@code max} akun dirty lalu antrikan ke thread I/O.
+     * Akun yang berubah berkali-kali di antara 2 flush hanya ditulis 1x.
+     *
+     * @return jumlah akun yang di-antrikan
+     */
+    public int flushDirty(int max) {
+        Map<UUID, Long> batch = new HashMap<>();
+        UUID uuid;
+
+        while (batch.size() < max && (uuid = dirtyOrder.poll()) != null) {
+            // Hapus flag DULU baru baca balance: mutasi susulan akan menandai dirty lagi
+            dirty.remove(uuid);
+
+            Account account = accounts.get(uuid);
+            if (account == null) continue;
+
+            batch.put(uuid, account.balance);
+        }
+
+        // 1x submit: write-behind menerima semuanya dalam 1 batch
+        saveQueue.submitAll(batch);
+        return batch.size();
+    }
+
+    private void markDirty(UUID uuid) {
+        if (dirty.add(uuid)) {
+            dirtyOrder.add(uuid);
+        }
+    }
+
+    public int getPendingSaves() {
+        return saveQueue.getPendingCount();
+    }
+
+    public int getDirtyCount() {
+        return dirty.size();
+    }
+
+    public int getAccountCount() {
+        return accounts.size();
+    }
+
+    // ═══════════════════════════════════════
+    // Fixed-Point Conversion
+    // ═══════════════════════════════════════
+
+    /**
+     * @throws IllegalArgumentException kalau amount NaN / infinity / di luar ±MAX_BALANCE
+     */
+    public static long toMinor(double amount) {
+        if (!isValidAmount(amount)) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
+        return Math.round(amount * SCALE);
+    }
+
+    /**
+     * @return true kalau amount (coin) finite dan muat di ledger
+     */
+    public static boolean isValidAmount(double amount) {
+        return Double.isFinite(amount) && Math.abs(amount) <= (double) (MAX_BALANCE / SCALE);
+    }
+
+    /**
+     * balance + amount, dibatasi [0, MAX_BALANCE] tanpa overflow.
+     */
+    public static long addCapped(long balance, long amount) {
+        long sum;
+        try {
+            sum = Math.addExact(balance, amount);
+        } catch (ArithmeticException e) {
+            return amount > 0 ? MAX_BALANCE : 0;
+        }
+        return Math.max(0, Math.min(MAX_BALANCE, sum));
+    }
+
+    public static double toMajor(long minor) {
+        return (double) minor / SCALE;
+    }
+
+    // ═══════════════════════════════════════
+    // Ledger (minor unit)
+    // ═══════════════════════════════════════
+
+    public long getBalanceMinor(UUID uuid) {
+        Account account = accounts.get(uuid);
+        return account != null ? account.balance : startingBalance;
+    }
+
+    /**
+     * @return balance baru
+     */
+    public long setBalanceMinor(UUID uuid, long amount) {
+        synchronized (lockFor(uuid)) {
+            long value = update(account(uuid), amount);
+            journal(EcoJournal.OP_SET, uuid, amount, value);
+            return value;
+        }
+    }
+
+    /**
+     * @return balance baru
+     */
+    public long depositMinor(UUID uuid, long amount) {
+        synchronized (lockFor(uuid)) {
+            Account account = account(uuid);
+            long value = update(account, addCapped(account.balance, amount));
+            journal(EcoJournal.OP_DEPOSIT, uuid, amount, value);
+            return value;
+        }
+    }
+
+    /**
+     * Kurangi tanpa cek saldo (dibatasi 0), dipakai /eco take.
+     *
+     * @return balance baru
+     */
+    public long withdrawMinor(UUID uuid, long amount) {
+        synchronized (lockFor(uuid)) {
+            Account account = account(uuid);
+            long value = update(account, addCapped(account.balance, -amount));
+            journal(EcoJournal.OP_WITHDRAW, uuid, amount, value);
+            return value;
+        }
+    }
+
+    /**
+     * Compare-and-withdraw: cek saldo dan kurangi dalam 1 langkah atomic.
+     *
+     * @return balance baru, atau -1 kalau saldo tidak cukup
+     */
+    public long withdrawIfEnough(UUID uuid, long amount) {
+        synchronized (lockFor(uuid)) {
+            Account account = account(uuid);
+            if (account.balance < amount) return -1;
+
+            long value = update(account, account.balance - amount);
+            journal(EcoJournal.OP_WITHDRAW, uuid, amount, value);
+            return value;
+        }
+    }
+
+    /**
+     * Pindahkan balance antar akun secara atomic (dipakai /pay).
+     * 2 stripe dikunci dengan urutan index supaya tidak deadlock.
+     *
+     * @return false kalau balance pengirim tidak cukup, atau penerima akan melewati MAX_BALANCE
+     */
+    public boolean transferMinor(UUID from, UUID to, long amount) {
+        if (amount < 0 || from.equals(to)) return false;
+
+        int a = stripe(from);
+        int b = stripe(to);
+        Object first = locks[Math.min(a, b)];
+        Object second = locks[Math.max(a, b)];
+
+        synchronized (first) {
+            synchronized (second) {
+                Account source = account(from);
+                if (source.balance < amount) return false;
+
+                // Tolak daripada memotong: uang tidak boleh hilang di tengah transfer
+                Account target = account(to);
+                if (amount > MAX_BALANCE - target.balance) return false;
+
+                long fromValue = update(source, source.balance - amount);
+                long toValue = update(target, target.balance + amount);
+
+                if (journal != null) {
+                    journal.appendTransfer(from, to, amount, fromValue, toValue);
+                }
+                return true;
+            }
+        }
+    }
+
+    private int stripe(UUID uuid) {
+        int h = uuid.hashCode();
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private Object lockFor(UUID uuid) {
+        return locks[stripe(uuid)];
+    }
+
+    /**
+     * Ambil / buat akun (balance awal = starting-balance). Panggil di dalam stripe lock.
+     */
+    private Account account(UUID uuid) {
+        return accounts.computeIfAbsent(uuid, id -> {
+            index.set(id, startingBalance);
+            return new Account(id, startingBalance);
+        });
+    }
+
+    /**
+     * Set balance (min 0) dan tandai dirty. Panggil di dalam stripe lock.
+     *
+     * @return balance baru
+     */
+    private long update(Account account, long amount) {
+        long value = Math.max(0, Math.min(MAX_BALANCE, amount));
+        long old = account.balance;
+        if (old != value) {
+            account.balance = value;
+            index.set(account.uuid, value);
+            markDirty(account.uuid);
+        }
+        return value;
+    }
+
+    private void journal(byte op, UUID uuid, long amount, long balance) {
+        if (journal != null) {
+            journal.append(op, uuid, amount, balance);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Bulk
+    // ═══════════════════════════════════════
+
+    /**
+     * Mulai bulk job. Hanya 1 job boleh jalan dalam satu waktu.
+     *
+     * @return false kalau masih ada job lain yang belum selesai
+     */
+    public boolean startBulk(BulkJob job) {
+        if (getBulkJob() != null) return false;
+        bulkJob = job;
+        job.start();
+        return true;
+    }
+
+    /**
+     * @return job yang sedang jalan / di-pause, atau null
+     */
+    public BulkJob getBulkJob() {
+        return bulkJob != null && !bulkJob.isFinished() ? bulkJob : null;
+    }
+
+    /**
+     * Snapshot semua UUID yang punya akun di ledger.
+     */
+    public Set<UUID> getAccountIds() {
+        return new HashSet<>(accounts.keySet());
+    }
+
+    /**
+     * Terapkan 1 chunk bulk job ({@code targets[from..to)}).
+     *
+     * Semua stripe dikunci dengan urutan index (sama seperti transfer),
+     * jadi record chunk ini di-append ke journal sebagai 1 batch tanpa
+     * mengacaukan urutan record per akun. Akun di luar filter balance
+     * dilewati dan tidak dibuat.
+     */
+    BulkJob.Result applyBulk(BulkJob job, UUID[] targets, int from, int to) {
+        UUID[] changed = new UUID[to - from];
+        long[] balances = new long[to - from];
+        long[] totals = new long[2]; // [jumlah akun, total perubahan]
+
+        withAllStripes(0, () -> {
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                UUID uuid = targets[i];
+                Account existing = accounts.get(uuid);
+                if (!job.accepts(existing != null ? existing.balance : startingBalance)) continue;
+
+                Account account = existing != null ? existing : account(uuid);
+                long old = account.balance;
+                long value = update(account, job.apply(old));
+
+                changed[count] = uuid;
+                balances[count] = value;
+                count++;
+                totals[1] += value - old;
+            }
+
+            if (journal != null && count > 0) {
+                journal.appendBatch(job.getAction().op, job.getAmount(), changed, balances, count);
+            }
+            totals[0] = count;
+        });
+
+        return new BulkJob.Result((int) totals[0], totals[1]);
+    }
+
+    private void withAllStripes(int stripe, Runnable body) {
+        if (stripe == STRIPES) {
+            body.run();
+            return;
+        }
+        synchronized (locks[stripe]) {
+            withAllStripes(stripe + 1, body);
+        }
+    }
+
+    public boolean hasMinor(UUID uuid, long amount) {
+        return getBalanceMinor(uuid) >= amount;
+    }
+
+    /**
+     * Balance dalam coin utuh (dibulatkan ke bawah), untuk placeholder.
+     */
+    public long getBalanceCoins(UUID uuid) {
+        return getBalanceMinor(uuid) / SCALE;
+    }
+
+    // ═══════════════════════════════════════
+    // Vault / Command API (coin)
+    // ═══════════════════════════════════════
+
     public double getBalance(UUID uuid) {
-        return balanceCache.getOrDefault(uuid, plugin.getConfig().getDouble("economy.starting-balance", 1000.0));
+        return toMajor(getBalanceMinor(uuid));
     }
 
     public double getBalance(OfflinePlayer player) {
@@ -53,8 +547,7 @@ public class EcoManager {
     }
 
     public void setBalance(UUID uuid, double amount) {
-        balanceCache.put(uuid, Math.max(0, amount));
-        save();
+        setBalanceMinor(uuid, toMinor(amount));
     }
 
     public void setBalance(OfflinePlayer player, double amount) {
@@ -62,7 +555,7 @@ public class EcoManager {
     }
 
     public void deposit(UUID uuid, double amount) {
-        setBalance(uuid, getBalance(uuid) + amount);
+        depositMinor(uuid, toMinor(amount));
     }
 
     public void deposit(OfflinePlayer player, double amount) {
@@ -70,7 +563,7 @@ public class EcoManager {
     }
 
     public void withdraw(UUID uuid, double amount) {
-        setBalance(uuid, getBalance(uuid) - amount);
+        withdrawMinor(uuid, toMinor(amount));
     }
 
     public void withdraw(OfflinePlayer player, double amount) {
@@ -78,26 +571,69 @@ public class EcoManager {
     }
 
     public boolean has(UUID uuid, double amount) {
-        return getBalance(uuid) >= amount;
+        return isValidAmount(amount) && hasMinor(uuid, toMinor(amount));
     }
 
     public boolean has(OfflinePlayer player, double amount) {
         return has(player.getUniqueId(), amount);
     }
 
+    public boolean transfer(OfflinePlayer from, OfflinePlayer to, double amount) {
+        return transferMinor(from.getUniqueId(), to.getUniqueId(), toMinor(amount));
+    }
+
     public String format(double amount) {
-        if (amount >= 1_000_000_000) return String.format("%.1fB", amount / 1_000_000_000);
-        if (amount >= 1_000_000) return String.format("%.1fM", amount / 1_000_000);
-        if (amount >= 1_000) return String.format("%.1fk", amount / 1_000);
-        return String.format("%.0f", amount);
+        if (!isValidAmount(amount)) return String.valueOf(amount);
+        return formatMinor(toMinor(amount));
     }
 
-    public List<Map.Entry<UUID, Double>> getTopBalances(int limit) {
-        List<Map.Entry<UUID, Double>> list = new ArrayList<>(balanceCache.entrySet());
-        list.sort((a, b) -> Double.compare(b.getValue(), a.getValue()));
-        return list.subList(0, Math.min(limit, list.size()));
+    public String formatMinor(long minor) {
+        return BalanceFormat.compactFixed(minor, SCALE);
+    }
+
+    // ═══════════════════════════════════════
+    // Leaderboard
+    // ═══════════════════════════════════════
+
+    /**
+     * Top balance (minor unit), urut descending.
+     */
+    public List<Map.Entry<UUID, Long>> getTopBalances(int limit) {
+        return index.top(limit);
+    }
+
+    /**
+     * 1 halaman leaderboard (page mulai dari 0).
+     */
+    public List<Map.Entry<UUID, Long>> getTopPage(int page, int pageSize) {
+        return index.page(page * pageSize, pageSize);
+    }
+
+    /**
+     * @return rank (1 = tertinggi), atau 0 kalau akun belum pernah tercatat
+     */
+    public int getRank(UUID uuid) {
+        Account account = accounts.get(uuid);
+        return account == null ? 0 : index.rankOf(uuid, account.balance);
+    }
+
+    /**
+     * Entry di rank tertentu (1-based), atau null.
+     */
+    public Map.Entry<UUID, Long> getAtRank(int rank) {
+        return index.get(rank);
+    }
+
+    public int getRankedCount() {
+        return index.size();
+    }
+
+    /**
+     * Naik setiap kali urutan / isi leaderboard mungkin berubah.
+     */
+    public long getIndexVersion() {
+        return index.getVersion();
     }
-	
 	    // Method baru untuk parsing suffix (k, m, b, t)
     public double parseAmount(String input) {
         if (input == null || input.isEmpty()) return 0;
@@ -120,7 +656,9 @@ public class EcoManager {
         }
 
         try {
-            return Double.parseDouble(input) * multiplier;
+            double value = Double.parseDouble(input) * multiplier;
+            // NaN / Infinity / terlalu besar ikut dianggap format salah
+            return isValidAmount(value) ? value : -1;
         } catch (NumberFormatException e) {
             return -1; // Indikator error
         }
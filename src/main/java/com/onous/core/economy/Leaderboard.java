@@ -0,0 +1,111 @@
+package com.onous.core.economy;
+
+import com.onous.core.OnousCore;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Leaderboard Snapshot
+ *
+ * Snapshot immutable top-N (uuid, nama, balance) untuk placeholder
+ * scoreboard / hologram. Di-refresh berkala di main thread, hanya kalau
+ * {@link BalanceIndex} berubah. Lookup = 1x baca array, aman dari thread async.
+ *
+ * {@link #getVersion()} hanya naik kalau isi top-N benar-benar berbeda,
+ * dipakai cache turunan (BaltopCache) untuk tahu kapan harus render ulang.
+ *
+ * Config:
+ *  economy.leaderboard-size     (jumlah entry di snapshot)
+ *  economy.leaderboard-refresh  (seconds)
+ */
+public class Leaderboard {
+
+    public record Entry(int rank, UUID uuid, String name, long balance) {}
+
+    private final OnousCore plugin;
+    private final EcoManager eco;
+
+    private volatile Entry[] entries = new Entry[0];
+    private volatile long version;
+    private long builtIndexVersion = -1;
+    private BukkitTask task;
+
+    public Leaderboard(OnousCore plugin, EcoManager eco) {
+        this.plugin = plugin;
+        this.eco = eco;
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    public void start() {
+        stop();
+        refresh();
+
+        long period = Math.max(1, plugin.getConfig().getInt("economy.leaderboard-refresh", 5)) * 20L;
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::refresh, period, period);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Bangun ulang snapshot kalau index berubah sejak build terakhir.
+     */
+    public void refresh() {
+        long indexVersion = eco.getIndexVersion();
+        if (indexVersion == builtIndexVersion) return;
+
+        int size = Math.max(1, plugin.getConfig().getInt("economy.leaderboard-size", 100));
+        List<Map.Entry<UUID, Long>> top = eco.getTopBalances(size);
+
+        Entry[] built = new Entry[top.size()];
+        for (int i = 0; i < built.length; i++) {
+            Map.Entry<UUID, Long> e = top.get(i);
+            built[i] = new Entry(i + 1, e.getKey(), resolveName(e.getKey()), e.getValue());
+        }
+
+        builtIndexVersion = indexVersion;
+
+        // Mutasi di luar top-N tidak mengubah snapshot
+        if (Arrays.equals(built, entries)) return;
+
+        entries = built;
+        version++;
+    }
+
+    private String resolveName(UUID uuid) {
+        String name = plugin.getNames().getName(uuid);
+        return name != null ? name : "Unknown";
+    }
+
+    // ═══════════════════════════════════════
+    // Query (thread-safe)
+    // ═══════════════════════════════════════
+
+    /**
+     * @param rank 1-based
+     * @return entry, atau null kalau di luar snapshot
+     */
+    public Entry get(int rank) {
+        Entry[] snapshot = entries;
+        return rank >= 1 && rank <= snapshot.length ? snapshot[rank - 1] : null;
+    }
+
+    public int size() {
+        return entries.length;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
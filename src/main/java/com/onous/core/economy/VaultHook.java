@@ -1,6 +1,7 @@
 package com.onous.core.economy;
 
 import com.onous.core.OnousCore;
+import com.onous.core.manager.NameIndex;
 import net.milkbowl.vault.economy.AbstractEconomy;
 import net.milkbowl.vault.economy.EconomyResponse;
 import org.bukkit.Bukkit;
@@ -8,6 +9,7 @@ import org.bukkit.OfflinePlayer;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 public class VaultHook extends AbstractEconomy {
 
@@ -52,9 +54,21 @@ public class VaultHook extends AbstractEconomy {
     @Override
     public boolean hasAccount(OfflinePlayer player, String worldName) { return true; }
 
+    /**
+     * Nama → UUID lewat name index (tidak memanggil Bukkit.getOfflinePlayer(String),
+     * yang bisa blocking untuk nama tidak dikenal).
+     *
+     * @return null kalau nama belum pernah join
+     */
+    private UUID resolve(String playerName) {
+        NameIndex.Entry entry = plugin.getNames().resolve(playerName);
+        return entry != null ? entry.uuid() : null;
+    }
+
     @Override
     public double getBalance(String playerName) {
-        return getBalance(Bukkit.getOfflinePlayer(playerName));
+        UUID uuid = resolve(playerName);
+        return uuid != null ? eco.getBalance(uuid) : 0;
     }
 
     @Override
@@ -74,7 +88,8 @@ public class VaultHook extends AbstractEconomy {
 
     @Override
     public boolean has(String playerName, double amount) {
-        return has(Bukkit.getOfflinePlayer(playerName), amount);
+        UUID uuid = resolve(playerName);
+        return uuid != null && eco.has(uuid, amount);
     }
 
     @Override
@@ -94,16 +109,21 @@ public class VaultHook extends AbstractEconomy {
 
     @Override
     public EconomyResponse withdrawPlayer(String playerName, double amount) {
-        return withdrawPlayer(Bukkit.getOfflinePlayer(playerName), amount);
+        UUID uuid = resolve(playerName);
+        if (uuid == null) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Unknown player");
+        return withdrawPlayer(Bukkit.getOfflinePlayer(uuid), amount);
     }
 
     @Override
     public EconomyResponse withdrawPlayer(OfflinePlayer player, double amount) {
         if (amount < 0) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Cannot withdraw negative");
-        if (!has(player, amount)) return new EconomyResponse(0, getBalance(player), EconomyResponse.ResponseType.FAILURE, "Insufficient funds");
-        
-        eco.withdraw(player, amount);
-        return new EconomyResponse(amount, getBalance(player), EconomyResponse.ResponseType.SUCCESS, null);
+        if (!EcoManager.isValidAmount(amount)) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Invalid amount");
+
+        // Cek + kurangi atomic (aman dipanggil dari thread async)
+        long balance = eco.withdrawIfEnough(player.getUniqueId(), EcoManager.toMinor(amount));
+        if (balance < 0) return new EconomyResponse(0, getBalance(player), EconomyResponse.ResponseType.FAILURE, "Insufficient funds");
+
+        return new EconomyResponse(amount, EcoManager.toMajor(balance), EconomyResponse.ResponseType.SUCCESS, null);
     }
 
     @Override
@@ -118,15 +138,18 @@ public class VaultHook extends AbstractEconomy {
 
     @Override
     public EconomyResponse depositPlayer(String playerName, double amount) {
-        return depositPlayer(Bukkit.getOfflinePlayer(playerName), amount);
+        UUID uuid = resolve(playerName);
+        if (uuid == null) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Unknown player");
+        return depositPlayer(Bukkit.getOfflinePlayer(uuid), amount);
     }
 
     @Override
     public EconomyResponse depositPlayer(OfflinePlayer player, double amount) {
         if (amount < 0) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Cannot deposit negative");
-        
-        eco.deposit(player, amount);
-        return new EconomyResponse(amount, getBalance(player), EconomyResponse.ResponseType.SUCCESS, null);
+        if (!EcoManager.isValidAmount(amount)) return new EconomyResponse(0, 0, EconomyResponse.ResponseType.FAILURE, "Invalid amount");
+
+        long balance = eco.depositMinor(player.getUniqueId(), EcoManager.toMinor(amount));
+        return new EconomyResponse(amount, EcoManager.toMajor(balance), EconomyResponse.ResponseType.SUCCESS, null);
     }
 
     @Override
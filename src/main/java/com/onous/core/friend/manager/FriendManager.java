@@ -2,15 +2,17 @@ package com.onous.core.friend.manager;
 
 import com.onous.core.OnousCore;
 import com.onous.core.friend.model.FriendData;
+import com.onous.core.friend.model.FriendSnapshot;
+import com.onous.core.storage.AutosaveSource;
+import com.onous.core.storage.PlayerStore;
+import com.onous.core.storage.WriteBehindQueue;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
 import org.bukkit.Bukkit;
-import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.logging.Level;
 
 /**
  * FriendManager
@@ -22,23 +24,26 @@ import java.util.*;
  * NOTE:
  *  - GUI & command akan pakai manager ini.
  */
-public class FriendManager {
+public class FriendManager implements AutosaveSource {
 
     private final OnousCore plugin;
     private final Map<UUID, FriendData> dataCache = new HashMap<>();
 
-    private final File friendFolder;
+    private final PlayerStore store;
+    private final WriteBehindQueue<UUID, FriendSnapshot> saveQueue;
 
     // Limit (nanti bisa disambungkan ke config)
     private final int maxFriends = 50;
     private final int maxRequests = 50;
 
-    public FriendManager(OnousCore plugin) {
+    public FriendManager(OnousCore plugin, PlayerStore store) {
         this.plugin = plugin;
-        this.friendFolder = new File(plugin.getDataFolder(), "friends");
-        if (!friendFolder.exists()) {
-            friendFolder.mkdirs();
-        }
+        this.store = store;
+        this.saveQueue = new WriteBehindQueue<>("friends", plugin.getLogger(), batch -> {
+            for (FriendSnapshot snapshot : batch.values()) {
+                store.saveFriends(snapshot);
+            }
+        });
     }
 
     // ═══════════════════════════════════════
@@ -49,58 +54,44 @@ public class FriendManager {
         return dataCache.computeIfAbsent(owner, this::loadData);
     }
 
-    private FriendData loadData(UUID owner) {
-        FriendData data = new FriendData(owner);
-        File file = new File(friendFolder, owner.toString() + ".yml");
-        if (!file.exists()) {
-            return data;
-        }
-
-        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-
-        // Friends
-        List<String> friendList = cfg.getStringList("friends");
-        for (String s : friendList) {
-            try {
-                data.getFriends().add(UUID.fromString(s));
-            } catch (IllegalArgumentException ignored) {}
+    /**
+     * Load dari storage tanpa menyentuh cache.
+     * Aman dipanggil dari thread async (dipakai PreloadManager).
+     */
+    public FriendData loadData(UUID owner) {
+        FriendSnapshot pending = saveQueue.getPending(owner);
+        if (pending != null) {
+            return pending.toFriendData();
         }
 
-        // Requests
-        List<String> reqList = cfg.getStringList("requests");
-        for (String s : reqList) {
-            try {
-                data.getRequests().add(UUID.fromString(s));
-            } catch (IllegalArgumentException ignored) {}
+        try {
+            FriendSnapshot stored = store.loadFriends(owner);
+            if (stored != null) {
+                return stored.toFriendData();
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load friend data: " + owner, e);
         }
+        return new FriendData(owner);
+    }
 
-        return data;
+    /**
+     * Masukkan data hasil preload ke cache (kalau belum ada).
+     */
+    public void adoptData(FriendData data) {
+        dataCache.putIfAbsent(data.getOwner(), data);
     }
 
-    public void saveData(UUID owner) {
+    /**
+     * @return true kalau data berubah dan di-antrikan untuk ditulis
+     */
+    public boolean saveData(UUID owner) {
         FriendData data = dataCache.get(owner);
-        if (data == null) return;
-
-        File file = new File(friendFolder, owner.toString() + ".yml");
-        YamlConfiguration cfg = new YamlConfiguration();
-
-        List<String> friendList = new ArrayList<>();
-        for (UUID f : data.getFriends()) {
-            friendList.add(f.toString());
-        }
-        cfg.set("friends", friendList);
+        if (data == null || !data.isDirty()) return false;
 
-        List<String> reqList = new ArrayList<>();
-        for (UUID r : data.getRequests()) {
-            reqList.add(r.toString());
-        }
-        cfg.set("requests", reqList);
-
-        try {
-            cfg.save(file);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save friend data: " + owner);
-        }
+        saveQueue.submit(owner, data.snapshot());
+        data.clearDirty();
+        return true;
     }
 
     public void unloadData(UUID owner) {
@@ -115,6 +106,28 @@ public class FriendManager {
         plugin.getLogger().info("All friend data saved.");
     }
 
+    @Override
+    public String getAutosaveName() {
+        return "friends";
+    }
+
+    @Override
+    public Collection<UUID> getAutosaveKeys() {
+        return new ArrayList<>(dataCache.keySet());
+    }
+
+    @Override
+    public boolean autosave(UUID key) {
+        return saveData(key);
+    }
+
+    /**
+     * Flush barrier untuk onDisable.
+     */
+    public void shutdown() {
+        saveQueue.shutdown(10_000L);
+    }
+
     // ═══════════════════════════════════════
     // Core Friend Logic
     // ═══════════════════════════════════════
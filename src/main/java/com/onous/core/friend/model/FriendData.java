@@ -23,6 +23,9 @@ public class FriendData {
     private final Set<UUID> friends;
     private final Set<UUID> requests;
 
+    // true = ada perubahan yang belum disimpan
+    private boolean dirty;
+
     public FriendData(UUID owner) {
         this.owner = owner;
         this.friends = new HashSet<>();
@@ -46,11 +49,11 @@ public class FriendData {
     }
 
     public void addFriend(UUID other) {
-        friends.add(other);
+        if (friends.add(other)) dirty = true;
     }
 
     public void removeFriend(UUID other) {
-        friends.remove(other);
+        if (friends.remove(other)) dirty = true;
     }
 
     public boolean hasRequestFrom(UUID other) {
@@ -58,18 +61,37 @@ public class FriendData {
     }
 
     public void addRequest(UUID from) {
-        requests.add(from);
+        if (requests.add(from)) dirty = true;
     }
 
     public void removeRequest(UUID from) {
-        requests.remove(from);
+        if (requests.remove(from)) dirty = true;
     }
 
     public void clearRequests() {
-        requests.clear();
+        if (!requests.isEmpty()) {
+            requests.clear();
+            dirty = true;
+        }
     }
 
     public int getFriendCount() {
         return friends.size();
     }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    public void clearDirty() {
+        this.dirty = false;
+    }
+
+    public FriendSnapshot snapshot() {
+        return new FriendSnapshot(owner, friends, requests);
+    }
 }
@@ -0,0 +1,24 @@
+package com.onous.core.friend.model;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * FriendSnapshot
+ * Salinan immutable dari {@link FriendData}, dipakai oleh storage
+ * supaya penulisan bisa dilakukan di luar main thread.
+ */
+public record FriendSnapshot(UUID owner, Set<UUID> friends, Set<UUID> requests) {
+
+    public FriendSnapshot {
+        friends = Set.copyOf(friends);
+        requests = Set.copyOf(requests);
+    }
+
+    public FriendData toFriendData() {
+        FriendData data = new FriendData(owner);
+        data.getFriends().addAll(friends);
+        data.getRequests().addAll(requests);
+        return data;
+    }
+}
@@ -4,51 +4,75 @@ import com.onous.core.OnousCore;
 import com.onous.core.util.CC;
 import com.onous.core.util.ItemBuilder;
 import com.onous.core.util.Sounds;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.SkullMeta;
-
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 public class BalanceGUI extends GUI {
 
+    private static final int SLOT_PREV = 45;
+    private static final int SLOT_CLOSE = 49;
+    private static final int SLOT_NEXT = 53;
+
+    private int page;
+
     public BalanceGUI(OnousCore plugin, Player player) {
+        this(plugin, player, 0);
+    }
+
+    public BalanceGUI(OnousCore plugin, Player player, int page) {
         super(plugin, player, "&8Balance Top", 6);
+        this.page = page;
     }
 
     @Override
     public void setup() {
-        List<Map.Entry<UUID, Double>> top = plugin.getEcoManager().getTopBalances(45);
-
-        for (int i = 0; i < top.size(); i++) {
-            Map.Entry<UUID, Double> entry = top.get(i);
-            String name = Bukkit.getOfflinePlayer(entry.getKey()).getName();
-            if (name == null) name = "Unknown";
-
-            ItemStack head = new ItemBuilder(Material.PLAYER_HEAD)
-                    .name("&e#" + (i + 1) + " &f" + name)
-                    .lore("&7Balance: &a" + plugin.getEcoManager().format(entry.getValue()))
-                    .build();
-            
-            // Set skull owner manually
-            SkullMeta meta = (SkullMeta) head.getItemMeta();
-            meta.setOwningPlayer(Bukkit.getOfflinePlayer(entry.getKey()));
-            head.setItemMeta(meta);
-
-            setItem(i, head);
+        // Item sudah di-render oleh BaltopCache, tinggal copy
+        BaltopCache cache = plugin.getBaltop();
+        int totalPages = cache.getPageCount();
+        if (page >= totalPages) page = totalPages - 1;
+        if (page < 0) page = 0;
+
+        ItemStack[] items = cache.getPage(page);
+        for (int i = 0; i < items.length; i++) {
+            setItem(i, items[i]);
+        }
+
+        if (page > 0) {
+            setItem(SLOT_PREV, new ItemBuilder(Material.ARROW)
+                    .name(CC.PRIMARY + "← Previous")
+                    .lore(CC.GRAY + "Page " + page + "/" + totalPages)
+                    .build());
         }
 
         // Close Button
-        setItem(49, new ItemBuilder(Material.BARRIER).name("&cClose").build());
+        setItem(SLOT_CLOSE, new ItemBuilder(Material.BARRIER).name("&cClose").build());
+
+        if (page < totalPages - 1) {
+            setItem(SLOT_NEXT, new ItemBuilder(Material.ARROW)
+                    .name(CC.PRIMARY + "Next →")
+                    .lore(CC.GRAY + "Page " + (page + 2) + "/" + totalPages)
+                    .build());
+        }
     }
 
     @Override
     public void onClick(int slot) {
-        if (slot == 49) {
+        if (slot == SLOT_PREV && page > 0) {
+            page--;
+            Sounds.click(player);
+            refresh();
+            return;
+        }
+
+        if (slot == SLOT_NEXT && page < plugin.getBaltop().getPageCount() - 1) {
+            page++;
+            Sounds.click(player);
+            refresh();
+            return;
+        }
+
+        if (slot == SLOT_CLOSE) {
             close();
             Sounds.click(player);
         }
@@ -0,0 +1,83 @@
+package com.onous.core.gui;
+
+import com.onous.core.OnousCore;
+import com.onous.core.economy.Leaderboard;
+import com.onous.core.util.ItemBuilder;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+
+/**
+ * Baltop Render Cache
+ *
+ * Isi halaman BalanceGUI (skull + nama + balance) dibangun sekali per
+ * perubahan snapshot {@link Leaderboard}, lalu dipakai ulang oleh setiap
+ * /bal yang dibuka. Buka GUI = copy ItemStack ke inventory saja.
+ *
+ * Dibangun di main thread (ItemMeta / SkullMeta bukan API thread-safe),
+ * dan hanya saat top-N benar-benar berubah.
+ */
+public class BaltopCache {
+
+    public static final int PER_PAGE = 45;
+
+    private final OnousCore plugin;
+
+    private ItemStack[][] pages = new ItemStack[0][];
+    private long builtVersion = -1;
+
+    public BaltopCache(OnousCore plugin) {
+        this.plugin = plugin;
+    }
+
+    public int getPageCount() {
+        ensureBuilt();
+        return Math.max(1, pages.length);
+    }
+
+    /**
+     * @return isi halaman (maks {@link #PER_PAGE} item), array kosong kalau tidak ada
+     */
+    public ItemStack[] getPage(int page) {
+        ensureBuilt();
+        return page >= 0 && page < pages.length ? pages[page] : new ItemStack[0];
+    }
+
+    private void ensureBuilt() {
+        Leaderboard leaderboard = plugin.getLeaderboard();
+        long version = leaderboard.getVersion();
+        if (version == builtVersion) return;
+
+        int total = leaderboard.size();
+        int pageCount = (total + PER_PAGE - 1) / PER_PAGE;
+        ItemStack[][] built = new ItemStack[pageCount][];
+
+        for (int p = 0; p < pageCount; p++) {
+            int start = p * PER_PAGE;
+            int count = Math.min(PER_PAGE, total - start);
+            built[p] = new ItemStack[count];
+
+            for (int i = 0; i < count; i++) {
+                built[p][i] = render(leaderboard.get(start + i + 1));
+            }
+        }
+
+        pages = built;
+        builtVersion = version;
+    }
+
+    private ItemStack render(Leaderboard.Entry entry) {
+        ItemStack head = new ItemBuilder(Material.PLAYER_HEAD)
+                .name("&e#" + entry.rank() + " &f" + entry.name())
+                .lore("&7Balance: &a" + plugin.getEcoManager().formatMinor(entry.balance()))
+                .build();
+
+        SkullMeta meta = (SkullMeta) head.getItemMeta();
+        if (meta != null) {
+            meta.setOwningPlayer(Bukkit.getOfflinePlayer(entry.uuid()));
+            head.setItemMeta(meta);
+        }
+        return head;
+    }
+}
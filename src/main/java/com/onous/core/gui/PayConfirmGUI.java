@@ -43,10 +43,8 @@ public class PayConfirmGUI extends GUI {
     @Override
     public void onClick(int slot) {
         if (slot == 11) { // Confirm
-            if (plugin.getEcoManager().has(player, amount)) {
-                plugin.getEcoManager().withdraw(player, amount);
-                plugin.getEcoManager().deposit(target, amount);
-                
+            if (plugin.getEcoManager().transfer(player, target, amount)) {
+
                 CC.sendPrefixed(player, "&aSent &f" + plugin.getEcoManager().format(amount) + " &ato " + target.getName());
                 if (target.isOnline()) {
                     CC.sendPrefixed(target.getPlayer(), "&aReceived &f" + plugin.getEcoManager().format(amount) + " &afrom " + player.getName());
@@ -4,14 +4,9 @@ import com.onous.core.OnousCore;
 import com.onous.core.util.CC;
 import com.onous.core.util.ItemBuilder;
 import com.onous.core.util.Sounds;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
-import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-
-import java.util.Random;
 
 /**
  * RTP GUI - DonutSMP Style (3 rows, clean, elegant)
@@ -196,37 +191,10 @@ public class RTPGUI extends GUI {
             return;
         }
 
-        // Close GUI & start async search
+        // Close GUI & ambil lokasi dari pool (lokasi sudah diverifikasi di background)
         close();
-        CC.sendPrefixed(player, plugin.getMessage("rtp-searching"));
         Sounds.click(player);
-
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                Location safe = findSafeLocation(world, env);
-
-                new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        if (!player.isOnline()) return;
-
-                        if (safe != null) {
-                            // Teleport with delay (uses plugin’s TeleportManager)
-                            plugin.getTeleport().teleport(player, safe, () ->
-                                    CC.sendPrefixed(player, plugin.getMessage("rtp-success"))
-                            );
-
-                            int cooldown = plugin.getConfig().getInt("rtp.cooldown", 300);
-                            plugin.getCooldown().set(player.getUniqueId(), "rtp", cooldown);
-                        } else {
-                            CC.sendPrefixed(player, plugin.getMessage("rtp-failed"));
-                            Sounds.error(player);
-                        }
-                    }
-                }.runTask(plugin);
-            }
-        }.runTaskAsynchronously(plugin);
+        plugin.getRTP().send(player, world);
     }
 
     private World findWorld(World.Environment env) {
@@ -236,54 +204,6 @@ public class RTPGUI extends GUI {
         return null;
     }
 
-    private Location findSafeLocation(World world, World.Environment env) {
-        Random random = new Random();
-        int minRange = plugin.getConfig().getInt("rtp.min-range", 1000);
-        int maxRange = plugin.getConfig().getInt("rtp.max-range", 8000);
-        int maxAttempts = plugin.getConfig().getInt("rtp.max-attempts", 15);
-
-        for (int i = 0; i < maxAttempts; i++) {
-            int x = randomCoord(random, minRange, maxRange);
-            int z = randomCoord(random, minRange, maxRange);
-
-            Location safe = findSafeY(world, x, z, env);
-            if (safe != null) return safe;
-        }
-        return null;
-    }
-
-    private int randomCoord(Random r, int min, int max) {
-        int v = r.nextInt(max - min) + min;
-        return r.nextBoolean() ? v : -v;
-    }
-
-    private Location findSafeY(World world, int x, int z, World.Environment env) {
-        int minY = (env == World.Environment.NETHER) ? 32 : world.getMinHeight() + 10;
-        int maxY = (env == World.Environment.NETHER) ? 100 : world.getMaxHeight() - 20;
-
-        for (int y = maxY; y >= minY; y--) {
-            Block ground = world.getBlockAt(x, y - 1, z);
-            Block feet   = world.getBlockAt(x, y, z);
-            Block head   = world.getBlockAt(x, y + 1, z);
-
-            if (!ground.getType().isSolid()) continue;
-            if (isDangerous(ground.getType())) continue;
-            if (!feet.getType().isAir()) continue;
-            if (!head.getType().isAir()) continue;
-
-            return new Location(world, x + 0.5, y, z + 0.5);
-        }
-        return null;
-    }
-
-    private boolean isDangerous(Material mat) {
-        return switch (mat) {
-            case LAVA, WATER, FIRE, SOUL_FIRE, MAGMA_BLOCK, CACTUS,
-                 SWEET_BERRY_BUSH, POWDER_SNOW, POINTED_DRIPSTONE -> true;
-            default -> false;
-        };
-    }
-
     // Pretty time for cooldown
     private String formatSeconds(long s) {
         if (s <= 0) return "0s";
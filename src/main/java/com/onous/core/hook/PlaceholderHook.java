@@ -2,6 +2,9 @@ package com.onous.core.hook;
 
 import com.onous.core.OnousCore;
 import com.onous.core.data.PlayerData;
+import com.onous.core.economy.EcoManager;
+import com.onous.core.economy.Leaderboard;
+import com.onous.core.util.BalanceFormat;
 import me.clip.placeholderapi.expansion.PlaceholderExpansion;
 import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
@@ -46,32 +49,55 @@ public class PlaceholderHook extends PlaceholderExpansion {
         PlayerData data = plugin.getData().getSettings(player.getUniqueId());
 
         // ─────────────────────────────────────
-        // Balance Placeholders
+        // Balance Placeholders (dari ledger EcoManager)
         // ─────────────────────────────────────
-        
+        long balance = plugin.getEcoManager().getBalanceCoins(player.getUniqueId());
+
         // %onous_balance% - Short format (10.5k, 1.2M)
         if (params.equalsIgnoreCase("balance")) {
-            return plugin.getData().formatBalanceShort(data.getBalance());
+            return plugin.getData().formatBalanceShort(balance);
         }
         
         // %onous_balance_formatted% - Short with symbol (⛃ 10.5k)
         if (params.equalsIgnoreCase("balance_formatted")) {
-            return plugin.getData().formatBalanceShortWithSymbol(data.getBalance());
+            return plugin.getData().formatBalanceShortWithSymbol(balance);
         }
         
         // %onous_balance_raw% - Raw number (10000)
         if (params.equalsIgnoreCase("balance_raw")) {
-            return String.valueOf(data.getBalance());
+            return String.valueOf(balance);
         }
         
         // %onous_balance_commas% - With commas (10,000)
         if (params.equalsIgnoreCase("balance_commas")) {
-            return String.format("%,d", data.getBalance());
+            return BalanceFormat.grouped(balance);
         }
         
         // %onous_balance_full% - Full with symbol (⛃ 10,000)
         if (params.equalsIgnoreCase("balance_full")) {
-            return plugin.getData().formatBalance(data.getBalance());
+            return plugin.getData().formatBalance(balance);
+        }
+
+        // ─────────────────────────────────────
+        // Leaderboard Placeholders
+        // ─────────────────────────────────────
+
+        // %onous_rank% - Rank balance player (O(log n) dari index)
+        if (params.equalsIgnoreCase("rank")) {
+            int rank = plugin.getEcoManager().getRank(player.getUniqueId());
+            return rank > 0 ? String.valueOf(rank) : "-";
+        }
+
+        // %onous_top_name_<n>% - Nama di rank n (snapshot leaderboard)
+        if (params.startsWith("top_name_")) {
+            Leaderboard.Entry entry = topEntry(params, "top_name_".length());
+            return entry != null ? entry.name() : "-";
+        }
+
+        // %onous_top_balance_<n>% - Balance di rank n, short format (10.5k)
+        if (params.startsWith("top_balance_")) {
+            Leaderboard.Entry entry = topEntry(params, "top_balance_".length());
+            return entry != null ? plugin.getData().formatBalanceShort(entry.balance() / EcoManager.SCALE) : "-";
         }
 
         // ─────────────────────────────────────
@@ -114,4 +140,12 @@ public class PlaceholderHook extends PlaceholderExpansion {
 
         return null;
     }
+
+    private Leaderboard.Entry topEntry(String params, int offset) {
+        try {
+            return plugin.getLeaderboard().get(Integer.parseInt(params.substring(offset)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
@@ -11,12 +11,14 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
 
 /**
  * Player Listener
+ * - preload data (async pre-login)
  * - load/save data
  * - restore fly
  * - spawn logic
@@ -31,6 +33,17 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
 
+    // ═══════════════════════════════════════
+    // Async Pre-Login
+    // ═══════════════════════════════════════
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        // Login ditolak plugin lain → tidak perlu load apa-apa
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        plugin.getPreload().preload(event.getUniqueId());
+    }
+
     // ═══════════════════════════════════════
     // Player Join
     // ═══════════════════════════════════════
@@ -38,9 +51,13 @@ public class PlayerListener implements Listener {
     public void onPlayerJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
 
-        // Load PlayerData
-        PlayerData data = plugin.getData().getSettings(player.getUniqueId());
+        // Ambil data hasil preload (fallback: load sinkron di getSettings)
+        plugin.getPreload().claim(player.getUniqueId());
+
+        // Load PlayerData (pinned selama online)
+        PlayerData data = plugin.getData().pinPlayer(player.getUniqueId());
         data.setLastName(player.getName());
+        plugin.getNames().update(player.getUniqueId(), player.getName());
 
         // Restore fly
         if (data.isFlyEnabled() && player.hasPermission("onous.fly")) {
@@ -93,9 +110,15 @@ public class PlayerListener implements Listener {
         // Cancel pending teleport
         plugin.getTeleport().cancel(player.getUniqueId());
 
+        // Leave RTP queue
+        plugin.getRTP().cancel(player.getUniqueId());
+
         // Cancel TPA requests
         plugin.getTPA().cancelAll(player.getUniqueId());
 
+        // Last-seen = saat keluar, bukan saat login
+        plugin.getNames().update(player.getUniqueId(), player.getName());
+
         // Save & unload player data
         plugin.getData().unloadPlayer(player.getUniqueId());
 
@@ -55,6 +55,9 @@ public class TeleportListener implements Listener {
         
         // Notify teleport manager of movement
         plugin.getTeleport().onMove(player);
+
+        // Keluar dari antrian RTP kalau bergerak
+        plugin.getRTP().onMove(player);
     }
 
     // ═══════════════════════════════════════
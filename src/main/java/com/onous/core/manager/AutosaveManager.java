@@ -0,0 +1,211 @@
+package com.onous.core.manager;
+
+import com.onous.core.OnousCore;
+import com.onous.core.storage.AutosaveSource;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+
+/**
+ * Autosave Manager
+ *
+ * Autosave bertahap, bukan 1x saveAll besar:
+ *  - Setiap interval, mulai 1 siklus: ambil key dari semua source
+ *  - Tiap tick, walk source secara round-robin (players → friends → ...)
+ *  - Berhenti di tick itu kalau sudah menyimpan N record ATAU lewat M mikrodetik
+ *  - Penulisan file dilakukan write-behind queue di thread I/O
+ *  - Progress siklus dilaporkan ke log setelah selesai
+ *
+ * Config:
+ *  autosave.interval          (seconds)
+ *  autosave.max-per-tick      (record)
+ *  autosave.max-micros-per-tick
+ *  autosave.log
+ */
+public class AutosaveManager {
+
+    private final OnousCore plugin;
+    private final List<AutosaveSource> sources = new ArrayList<>();
+
+    private BukkitTask intervalTask;
+    private BukkitTask cycleTask;
+
+    // State siklus yang sedang berjalan
+    private final List<Cursor> cursors = new ArrayList<>();   // yang masih punya key
+    private final List<Cursor> cycleCursors = new ArrayList<>(); // semua, untuk laporan
+    private int cursorIndex;
+    private int cycleTicks;
+    private long cycleStartedAt;
+
+    // Stats siklus terakhir
+    private int lastScanned;
+    private int lastSaved;
+    private int lastTicks;
+    private long lastCompletedAt;
+
+    public AutosaveManager(OnousCore plugin) {
+        this.plugin = plugin;
+    }
+
+    public void register(AutosaveSource source) {
+        sources.add(source);
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    public void start() {
+        stop();
+
+        int intervalSec = plugin.getConfig().getInt("autosave.interval", 120);
+        if (intervalSec <= 0) {
+            plugin.getLogger().info("Autosave disabled.");
+            return;
+        }
+
+        long period = intervalSec * 20L;
+        intervalTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::startCycle, period, period);
+    }
+
+    public void stop() {
+        if (intervalTask != null) {
+            intervalTask.cancel();
+            intervalTask = null;
+        }
+        stopCycle();
+    }
+
+    public boolean isCycleRunning() {
+        return cycleTask != null;
+    }
+
+    // ═══════════════════════════════════════
+    // Cycle
+    // ═══════════════════════════════════════
+
+    /**
+     * Mulai 1 siklus autosave. Kalau siklus sebelumnya belum selesai, dilewati.
+     */
+    public void startCycle() {
+        if (isCycleRunning()) return;
+
+        cursors.clear();
+        cycleCursors.clear();
+        for (AutosaveSource source : sources) {
+            Collection<UUID> keys = source.getAutosaveKeys();
+            if (!keys.isEmpty()) {
+                cursors.add(new Cursor(source, new ArrayDeque<>(keys)));
+            }
+        }
+        if (cursors.isEmpty()) return;
+        cycleCursors.addAll(cursors);
+
+        cursorIndex = 0;
+        cycleTicks = 0;
+        cycleStartedAt = System.currentTimeMillis();
+        cycleTask = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    private void tick() {
+        int maxRecords = Math.max(1, plugin.getConfig().getInt("autosave.max-per-tick", 20));
+        long maxNanos = Math.max(100, plugin.getConfig().getLong("autosave.max-micros-per-tick", 2000)) * 1000L;
+
+        long start = System.nanoTime();
+        int saved = 0;
+        cycleTicks++;
+
+        while (!cursors.isEmpty() && saved < maxRecords && System.nanoTime() - start < maxNanos) {
+            if (cursorIndex >= cursors.size()) cursorIndex = 0;
+
+            Cursor cursor = cursors.get(cursorIndex);
+            UUID key = cursor.keys.poll();
+
+            if (key == null) {
+                // Source ini selesai untuk siklus ini
+                cursors.remove(cursorIndex);
+                continue;
+            }
+
+            cursor.scanned++;
+            if (cursor.source.autosave(key)) {
+                cursor.saved++;
+                saved++;
+            }
+            cursorIndex++;
+        }
+
+        if (cursors.isEmpty()) {
+            finishCycle();
+        }
+    }
+
+    private void finishCycle() {
+        int scanned = 0;
+        int saved = 0;
+        StringJoiner breakdown = new StringJoiner(", ");
+        for (Cursor cursor : cycleCursors) {
+            scanned += cursor.scanned;
+            saved += cursor.saved;
+            breakdown.add(cursor.source.getAutosaveName() + " " + cursor.saved);
+        }
+
+        stopCycle();
+
+        lastScanned = scanned;
+        lastSaved = saved;
+        lastTicks = cycleTicks;
+        lastCompletedAt = System.currentTimeMillis();
+
+        if (saved > 0 && plugin.getConfig().getBoolean("autosave.log", true)) {
+            plugin.getLogger().info("Autosave: saved " + saved + "/" + scanned + " records ("
+                    + breakdown + ") over " + lastTicks + " ticks, "
+                    + (lastCompletedAt - cycleStartedAt) + "ms.");
+        }
+    }
+
+    private void stopCycle() {
+        if (cycleTask != null) {
+            cycleTask.cancel();
+            cycleTask = null;
+        }
+        cursors.clear();
+        cycleCursors.clear();
+    }
+
+    // ═══════════════════════════════════════
+    // Stats
+    // ═══════════════════════════════════════
+
+    public int getLastScanned() {
+        return lastScanned;
+    }
+
+    public int getLastSaved() {
+        return lastSaved;
+    }
+
+    public int getLastTicks() {
+        return lastTicks;
+    }
+
+    public long getLastCompletedAt() {
+        return lastCompletedAt;
+    }
+
+    // ═══════════════════════════════════════
+    // Data class
+    // ═══════════════════════════════════════
+
+    private static final class Cursor {
+        private final AutosaveSource source;
+        private final Deque<UUID> keys;
+        private int scanned;
+        private int saved;
+
+        private Cursor(AutosaveSource source, Deque<UUID> keys) {
+            this.source = source;
+            this.keys = keys;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.onous.core.manager;
+
+import com.onous.core.OnousCore;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Chunk Warmer
+ *
+ * Muat chunk tujuan teleport selama countdown, supaya lompatan di akhir
+ * mendarat di chunk yang sudah ter-load.
+ *
+ *  - Chunk ditahan dengan plugin chunk ticket, dilepas saat teleport
+ *      selesai / batal (ticket di-refcount: 2 teleport ke chunk yang sama aman)
+ *  - Spigot tidak punya API load async, jadi load di-spread:
+ *      maksimal N chunk belum-ter-load per tick (round-robin antar request),
+ *      chunk tengah duluan
+ *  - Chunk yang sudah ter-load tidak memakan budget
+ *
+ * Main thread saja; tick() digerakkan oleh driver TeleportManager
+ * (driver tetap jalan selama antrian warmer belum kosong).
+ */
+public class ChunkWarmer {
+
+    private record ChunkKey(UUID world, int x, int z) {}
+
+    private final OnousCore plugin;
+    private final Map<ChunkKey, Integer> tickets = new HashMap<>();
+    private final ArrayDeque<Handle> queue = new ArrayDeque<>();
+
+    public ChunkWarmer(OnousCore plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Antrikan chunk di sekitar lokasi (radius dalam chunk, 0 = hanya chunk tujuan).
+     *
+     * @return handle untuk {@link #release(Handle)}, atau null kalau world tidak ada
+     */
+    public Handle request(Location center, int radius) {
+        World world = center.getWorld();
+        if (world == null || radius < 0) return null;
+
+        int cx = center.getBlockX() >> 4;
+        int cz = center.getBlockZ() >> 4;
+        int side = radius * 2 + 1;
+        int[] xs = new int[side * side];
+        int[] zs = new int[side * side];
+
+        // Urut per ring: chunk tujuan dulu, lalu ring 1, dst
+        int i = 0;
+        xs[i] = cx;
+        zs[i++] = cz;
+        for (int ring = 1; ring <= radius; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                for (int dz = -ring; dz <= ring; dz++) {
+                    if (Math.max(Math.abs(dx), Math.abs(dz)) != ring) continue;
+                    xs[i] = cx + dx;
+                    zs[i++] = cz + dz;
+                }
+            }
+        }
+
+        return request(world, xs, zs);
+    }
+
+    /**
+     * Antrikan daftar chunk (urut prioritas, chunk pertama = tujuan utama).
+     */
+    public Handle request(World world, int[] xs, int[] zs) {
+        Handle handle = new Handle(world, xs, zs);
+
+        // Chunk tujuan sudah ter-load → tahan sekarang juga (gratis, tidak menunggu tick)
+        if (xs.length > 0 && world.isChunkLoaded(xs[0], zs[0])) {
+            acquire(world, xs[0], zs[0]);
+            handle.next = 1;
+        }
+        if (handle.next < xs.length) queue.add(handle);
+        return handle;
+    }
+
+    /**
+     * @return true kalau semua chunk milik handle sudah ditahan (dan ter-load)
+     */
+    public boolean isReady(Handle handle) {
+        if (handle.next < handle.xs.length) return false;
+        for (int i = 0; i < handle.xs.length; i++) {
+            if (!handle.world.isChunkLoaded(handle.xs[i], handle.zs[i])) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Tahan 1 chunk di luar teleport (mis. pool RTP). Chunk di-load kalau belum.
+     * Wajib dipasangkan dengan {@link #unhold(World, int, int)}.
+     */
+    public void hold(World world, int x, int z) {
+        acquire(world, x, z);
+    }
+
+    public void unhold(World world, int x, int z) {
+        releaseTicket(world, x, z, Bukkit.getWorld(world.getUID()) != null);
+    }
+
+    /**
+     * Muat maksimal {@code budget} chunk yang belum ter-load.
+     */
+    public void tick(int budget) {
+        int loads = 0;
+
+        while (loads < budget && !queue.isEmpty()) {
+            Handle handle = queue.poll();
+            if (handle.released || handle.next >= handle.xs.length) continue;
+
+            int x = handle.xs[handle.next];
+            int z = handle.zs[handle.next];
+            handle.next++;
+
+            if (!handle.world.isChunkLoaded(x, z)) loads++;
+            acquire(handle.world, x, z);
+
+            if (handle.next < handle.xs.length) queue.add(handle);
+        }
+    }
+
+    /**
+     * Lepas semua ticket milik handle ini. Aman dipanggil berkali-kali.
+     */
+    public void release(Handle handle) {
+        if (handle == null || handle.released) return;
+        handle.released = true;
+
+        // World sudah di-unload → ticket ikut hilang
+        boolean worldLoaded = Bukkit.getWorld(handle.world.getUID()) != null;
+
+        for (int i = 0; i < handle.next; i++) {
+            releaseTicket(handle.world, handle.xs[i], handle.zs[i], worldLoaded);
+        }
+    }
+
+    private void releaseTicket(World world, int x, int z, boolean worldLoaded) {
+        ChunkKey key = new ChunkKey(world.getUID(), x, z);
+        Integer count = tickets.get(key);
+        if (count == null) return;
+
+        if (count > 1) {
+            tickets.put(key, count - 1);
+        } else {
+            tickets.remove(key);
+            if (worldLoaded) world.removePluginChunkTicket(x, z, plugin);
+        }
+    }
+
+    private void acquire(World world, int x, int z) {
+        if (tickets.merge(new ChunkKey(world.getUID(), x, z), 1, Integer::sum) == 1) {
+            world.addPluginChunkTicket(x, z, plugin);
+        }
+    }
+
+    public int getTicketCount() {
+        return tickets.size();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    public static final class Handle {
+        private final World world;
+        private final int[] xs;
+        private final int[] zs;
+        private int next; // chunk [0, next) sudah punya ticket
+        private boolean released;
+
+        private Handle(World world, int[] xs, int[] zs) {
+            this.world = world;
+            this.xs = xs;
+            this.zs = zs;
+        }
+    }
+}
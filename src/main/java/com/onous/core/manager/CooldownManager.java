@@ -1,5 +1,7 @@
 package com.onous.core.manager;
 
+import com.onous.core.util.TimingWheel;
+
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
@@ -237,6 +239,17 @@ public class CooldownManager {
         });
     }
 
+    /**
+     * Jalankan cleanup() tiap {@code intervalSeconds} lewat timing wheel
+     * (timer di-arm ulang setiap kali jalan).
+     */
+    public void scheduleCleanup(TimingWheel timers, int intervalSeconds) {
+        timers.scheduleSeconds(intervalSeconds, () -> {
+            cleanup();
+            scheduleCleanup(timers, intervalSeconds);
+        });
+    }
+
     /**
      * Get all active cooldowns for player
      * 
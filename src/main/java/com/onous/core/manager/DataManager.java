@@ -2,7 +2,12 @@ package com.onous.core.manager;
 
 import com.onous.core.OnousCore;
 import com.onous.core.data.PlayerData;
+import com.onous.core.data.PlayerSnapshot;
 import com.onous.core.data.Warp;
+import com.onous.core.storage.AutosaveSource;
+import com.onous.core.storage.PlayerStore;
+import com.onous.core.storage.WriteBehindQueue;
+import com.onous.core.util.BalanceFormat;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -11,44 +16,61 @@ import org.bukkit.configuration.file.YamlConfiguration;
 
 import java.io.File;
 import java.io.IOException;
-import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 
-public class DataManager {
+public class DataManager implements AutosaveSource {
 
     private final OnousCore plugin;
+    private final PlayerStore store;
+
+    // Cache 2 tingkat:
+    //  - pinned  : player online, tidak pernah di-evict
+    //  - offline : lookup player offline (placeholder, leaderboard, dll),
+    //              LRU terbatas; entry yang di-evict ditulis dulu kalau dirty
+    private final Map<UUID, PlayerData> pinned;
+    private final LinkedHashMap<UUID, PlayerData> offlineCache;
+    private final int offlineCacheSize;
+
+    // Naik setiap ada data yang keluar dari cache (quit / evict), dijaga monitor offlineCache.
+    // Load di luar monitor membuang hasilnya kalau epoch berubah (hasil load bisa basi).
+    private long epoch;
 
-    private final Map<UUID, PlayerData> playerData;
     private final Map<String, Warp> warps;
 
+    // Save player ditulis di thread I/O (write-behind)
+    private final WriteBehindQueue<UUID, PlayerSnapshot> saveQueue;
+
     // Spawn cache + raw data
     private Location spawn;
     private String spawnWorldName;
     private double spawnX, spawnY, spawnZ;
     private float spawnYaw, spawnPitch;
 
-    private final File playersFolder;
     private final File warpsFile;
     private final File spawnFile;
 
-    private static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("#.#");
-    private static final long THOUSAND = 1_000L;
-    private static final long MILLION = 1_000_000L;
-    private static final long BILLION = 1_000_000_000L;
-    private static final long TRILLION = 1_000_000_000_000L;
-
-    public DataManager(OnousCore plugin) {
+    public DataManager(OnousCore plugin, PlayerStore store) {
         this.plugin = plugin;
-        this.playerData = new HashMap<>();
+        this.store = store;
+        this.pinned = new ConcurrentHashMap<>();
+        this.offlineCacheSize = Math.max(16, plugin.getConfig().getInt("storage.offline-cache-size", 500));
+        this.offlineCache = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, PlayerData> eldest) {
+                if (size() <= offlineCacheSize) return false;
+                writeBack(eldest.getValue());
+                epoch++;
+                return true;
+            }
+        };
         this.warps = new HashMap<>();
 
-        this.playersFolder = new File(plugin.getDataFolder(), "players");
         this.warpsFile = new File(plugin.getDataFolder(), "warps.yml");
         this.spawnFile = new File(plugin.getDataFolder(), "spawn.yml");
 
-        if (!playersFolder.exists()) {
-            playersFolder.mkdirs();
-        }
+        this.saveQueue = new WriteBehindQueue<>("players", plugin.getLogger(), batch -> store.savePlayers(batch.values()));
 
         loadWarps();
         loadSpawn();
@@ -58,100 +80,208 @@ public class DataManager {
     // Balance formatting
     // ═══════════════════════════════════════
 
+    // Thread-safe: dipanggil placeholder dari thread async
+
     public String formatBalance(long amount) {
-        String symbol = plugin.getConfig().getString("economy.symbol", "⛃");
-        return symbol + " " + String.format("%,d", amount);
+        return BalanceFormat.grouped(plugin.getConfig().getString("economy.symbol", "⛃"), amount);
     }
 
     public String formatBalanceShort(long amount) {
-        if (amount < THOUSAND) return String.valueOf(amount);
-        if (amount < MILLION) return DECIMAL_FORMAT.format(amount / (double) THOUSAND) + "k";
-        if (amount < BILLION) return DECIMAL_FORMAT.format(amount / (double) MILLION) + "M";
-        if (amount < TRILLION) return DECIMAL_FORMAT.format(amount / (double) BILLION) + "B";
-        return DECIMAL_FORMAT.format(amount / (double) TRILLION) + "T";
+        return BalanceFormat.compact(amount);
     }
 
     public String formatBalanceShortWithSymbol(long amount) {
-        String symbol = plugin.getConfig().getString("economy.symbol", "⛃");
-        return symbol + " " + formatBalanceShort(amount);
+        return BalanceFormat.compact(plugin.getConfig().getString("economy.symbol", "⛃"), amount);
     }
 
     // ═══════════════════════════════════════
     // Player Data
     // ═══════════════════════════════════════
 
+    /**
+     * Ambil data player (load dari storage kalau belum di-cache).
+     * Player online → tier pinned; selain itu → tier offline (LRU).
+     */
     public PlayerData getSettings(UUID uuid) {
-        return playerData.computeIfAbsent(uuid, this::loadPlayer);
+        while (true) {
+            PlayerData data = pinned.get(uuid);
+            if (data != null) return data;
+
+            long seen;
+            synchronized (offlineCache) {
+                data = offlineCache.get(uuid);
+                if (data != null) return data;
+                seen = epoch;
+            }
+
+            // I/O di luar monitor: lookup lain & join tidak ikut menunggu
+            data = loadPlayer(uuid);
+
+            synchronized (offlineCache) {
+                PlayerData current = pinned.get(uuid);
+                if (current == null) current = offlineCache.get(uuid);
+                if (current != null) return current;   // thread lain lebih dulu
+
+                if (epoch != seen) continue;           // ada write-back selama load → ulangi
+                offlineCache.put(uuid, data);
+                return data;
+            }
+        }
     }
 
-    private PlayerData loadPlayer(UUID uuid) {
-        PlayerData data = new PlayerData(uuid);
-        File file = new File(playersFolder, uuid + ".yml");
+    /**
+     * Dipanggil saat join: pindahkan data ke tier pinned.
+     */
+    public PlayerData pinPlayer(UUID uuid) {
+        PlayerData data = pinned.get(uuid);
+        if (data != null) return data;
 
-        if (file.exists()) {
-            YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        synchronized (offlineCache) {
+            data = offlineCache.remove(uuid);
+        }
+        if (data == null) {
+            data = loadPlayer(uuid);
+        }
 
-            data.setTpaEnabled(cfg.getBoolean("settings.tpa", true));
-            data.setMsgEnabled(cfg.getBoolean("settings.msg", true));
-            data.setSoundEnabled(cfg.getBoolean("settings.sound", true));
-            data.setRandomTpaEnabled(cfg.getBoolean("settings.random-tpa", true));
-            data.setPrivacyMode(cfg.getBoolean("settings.privacy", false));
+        // Di dalam monitor, supaya getSettings() yang load bersamaan
+        // tidak menaruh salinan kedua di tier offline
+        synchronized (offlineCache) {
+            PlayerData raced = offlineCache.remove(uuid);
+            if (raced != null) data = raced;
+            PlayerData existing = pinned.putIfAbsent(uuid, data);
+            return existing != null ? existing : data;
+        }
+    }
 
-            data.setAutoTpa(cfg.getBoolean("settings.auto-tpa", false));
-            data.setAutoTpaHere(cfg.getBoolean("settings.auto-tpahere", false));
-            data.setAutoFriendTp(cfg.getBoolean("settings.auto-friend-tp", false));
-            data.setFriendJoinNotify(cfg.getBoolean("settings.friend-join-notify", true));
+    private PlayerData getCached(UUID uuid) {
+        PlayerData data = pinned.get(uuid);
+        if (data != null) return data;
 
-            data.setFlyEnabled(cfg.getBoolean("states.fly", false));
-            data.setGodEnabled(cfg.getBoolean("states.god", false));
+        synchronized (offlineCache) {
+            return offlineCache.get(uuid);
+        }
+    }
 
-            long startingBalance = plugin.getConfig().getLong("economy.starting-balance", 1000);
-            data.setBalance(cfg.getLong("economy.balance", startingBalance));
+    private List<PlayerData> getAllCached() {
+        List<PlayerData> all = new ArrayList<>(pinned.values());
+        synchronized (offlineCache) {
+            all.addAll(offlineCache.values());
+        }
+        return all;
+    }
 
-            data.setLastName(cfg.getString("info.last-name"));
-        } else {
-            long startingBalance = plugin.getConfig().getLong("economy.starting-balance", 1000);
-            data.setBalance(startingBalance);
+    /**
+     * Load dari storage tanpa menyentuh cache.
+     * Aman dipanggil dari thread async (dipakai PreloadManager).
+     */
+    public PlayerData loadPlayer(UUID uuid) {
+        // Masih antri di write-behind → data di storage belum up-to-date
+        PlayerSnapshot pending = saveQueue.getPending(uuid);
+        if (pending != null) {
+            return pending.toPlayerData();
         }
 
-        return data;
+        try {
+            PlayerSnapshot stored = store.loadPlayer(uuid);
+            if (stored != null) {
+                return stored.toPlayerData();
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to load player data: " + uuid, e);
+        }
+
+        return new PlayerData(uuid);
     }
 
-    public void savePlayer(UUID uuid) {
-        PlayerData data = playerData.get(uuid);
-        if (data == null) return;
+    /**
+     * Ambil snapshot di main thread, tulis ke disk di thread I/O.
+     * Record yang tidak berubah (clean) dilewati.
+     *
+     * @return true kalau record di-antrikan untuk ditulis
+     */
+    public boolean savePlayer(UUID uuid) {
+        PlayerData data = getCached(uuid);
+        return data != null && writeBack(data);
+    }
 
-        File file = new File(playersFolder, uuid + ".yml");
-        YamlConfiguration cfg = new YamlConfiguration();
+    private boolean writeBack(PlayerData data) {
+        if (!data.isDirty()) return false;
 
-        cfg.set("settings.tpa", data.isTpaEnabled());
-        cfg.set("settings.msg", data.isMsgEnabled());
-        cfg.set("settings.sound", data.isSoundEnabled());
-        cfg.set("settings.random-tpa", data.isRandomTpaEnabled());
-        cfg.set("settings.privacy", data.isPrivacyMode());
+        // Clear DULU baru snapshot: setter yang jalan di antaranya
+        // menandai dirty lagi, jadi perubahannya ikut save berikutnya
+        data.clearDirty();
+        saveQueue.submit(data.getUuid(), data.snapshot());
+        return true;
+    }
 
-        cfg.set("settings.auto-tpa", data.isAutoTpa());
-        cfg.set("settings.auto-tpahere", data.isAutoTpaHere());
-        cfg.set("settings.auto-friend-tp", data.isAutoFriendTp());
-        cfg.set("settings.friend-join-notify", data.isFriendJoinNotify());
+    /**
+     * Masukkan data hasil preload ke tier pinned.
+     * Kalau sudah ada di cache (lebih baru), data preload diabaikan.
+     */
+    public void adoptPlayer(PlayerData data) {
+        UUID uuid = data.getUuid();
+        if (pinned.containsKey(uuid)) return;
+
+        synchronized (offlineCache) {
+            PlayerData cached = offlineCache.remove(uuid);
+            pinned.putIfAbsent(uuid, cached != null ? cached : data);
+        }
+    }
 
-        cfg.set("states.fly", data.isFlyEnabled());
-        cfg.set("states.god", data.isGodEnabled());
+    public int getPendingSaves() {
+        return saveQueue.getPendingCount();
+    }
 
-        cfg.set("economy.balance", data.getBalance());
+    /**
+     * Jumlah record di cache yang punya perubahan belum tersimpan.
+     */
+    public int getDirtyCount() {
+        int count = 0;
+        for (PlayerData data : getAllCached()) {
+            if (data.isDirty()) count++;
+        }
+        return count;
+    }
 
-        cfg.set("info.last-name", data.getLastName());
+    public int getCachedCount() {
+        return pinned.size() + getOfflineCachedCount();
+    }
 
-        try {
-            cfg.save(file);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save player data: " + uuid);
+    public int getOfflineCachedCount() {
+        synchronized (offlineCache) {
+            return offlineCache.size();
         }
     }
 
+    // ═══════════════════════════════════════
+    // Autosave
+    // ═══════════════════════════════════════
+
+    @Override
+    public String getAutosaveName() {
+        return "players";
+    }
+
+    @Override
+    public Collection<UUID> getAutosaveKeys() {
+        List<UUID> keys = new ArrayList<>(pinned.keySet());
+        synchronized (offlineCache) {
+            keys.addAll(offlineCache.keySet());
+        }
+        return keys;
+    }
+
+    @Override
+    public boolean autosave(UUID key) {
+        return savePlayer(key);
+    }
+
     public void unloadPlayer(UUID uuid) {
         savePlayer(uuid);
-        playerData.remove(uuid);
+        synchronized (offlineCache) {
+            pinned.remove(uuid);
+            epoch++;
+        }
     }
 
     // ═══════════════════════════════════════
@@ -338,45 +468,25 @@ public class DataManager {
         }
     }
 
-    // ═══════════════════════════════════════
-    // Economy Leaderboard
-    // ═══════════════════════════════════════
-
-    public List<Map.Entry<UUID, Long>> getTopBalances(int limit) {
-        List<Map.Entry<UUID, Long>> list = new ArrayList<>();
-
-        for (Map.Entry<UUID, PlayerData> entry : playerData.entrySet()) {
-            list.add(Map.entry(entry.getKey(), entry.getValue().getBalance()));
-        }
-
-        File[] files = playersFolder.listFiles((dir, name) -> name.endsWith(".yml"));
-        if (files != null) {
-            for (File file : files) {
-                try {
-                    UUID uuid = UUID.fromString(file.getName().replace(".yml", ""));
-                    if (playerData.containsKey(uuid)) continue;
-
-                    YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
-                    long balance = cfg.getLong("economy.balance", 0);
-                    list.add(Map.entry(uuid, balance));
-                } catch (Exception ignored) {}
-            }
-        }
-
-        list.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
-        return list.subList(0, Math.min(limit, list.size()));
-    }
-
     // ═══════════════════════════════════════
     // Save All
     // ═══════════════════════════════════════
 
     public void saveAll() {
-        for (UUID uuid : playerData.keySet()) {
-            savePlayer(uuid);
+        List<PlayerData> all = getAllCached();
+        int saved = 0;
+        for (PlayerData data : all) {
+            if (writeBack(data)) saved++;
         }
         saveWarps();
         saveSpawn();
-        plugin.getLogger().info("All data saved.");
+        plugin.getLogger().info("All data saved (" + saved + "/" + all.size() + " player records changed).");
+    }
+
+    /**
+     * Flush barrier untuk onDisable: tunggu semua write-behind selesai.
+     */
+    public void shutdown() {
+        saveQueue.shutdown(10_000L);
     }
 }
\ No newline at end of file
@@ -0,0 +1,230 @@
+package com.onous.core.manager;
+
+import com.onous.core.OnousCore;
+import com.onous.core.rtp.ColumnProbe;
+import com.onous.core.util.CC;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Mass Teleport Job
+ *
+ * Teleport banyak player ke 1 tujuan (/tpahere *, summon event) tanpa
+ * lonjakan tick / packet:
+ *  - Chunk tujuan (+ chunk titik ring) di-load lewat {@link ChunkWarmer},
+ *      dibagi teleport.prewarm-chunks-per-tick, dan ditunggu ter-load dulu
+ *  - Lalu teleport.mass.per-tick player per tick
+ *  - Opsional: kedatangan disebar ke ring titik aman di sekitar tujuan
+ *      (teleport.mass.spread-radius / spread-spots)
+ *  - Selesai = laporan ke pengirim, ticket dilepas
+ *
+ * Dibuat lewat {@link TeleportManager#startMass}. Main thread saja.
+ */
+public class MassTeleport {
+
+    // Maksimal menunggu chunk; lewat dari ini job jalan dengan chunk yang sudah siap
+    private static final int MAX_WARM_TICKS = 200;
+
+    // Jarak Y maksimal titik ring dari Y tujuan
+    private static final int SPOT_Y_RANGE = 3;
+
+    private final OnousCore plugin;
+    private final ChunkWarmer warmer;
+    private final CommandSender sender;
+    private final Location destination;
+    private final Player[] targets;
+    private final String description;
+    private final String arrivalBar;
+    private final int perTick;
+
+    private final List<Location> spots = new ArrayList<>();
+
+    // Kolom titik ring (Y dicari setelah chunk-nya ter-load)
+    private int[] ringX = new int[0];
+    private int[] ringZ = new int[0];
+
+    private ChunkWarmer.Handle warmHandle;
+    private BukkitTask task;
+    private int cursor;
+    private int teleported;
+    private int warmTicks;
+    private boolean warm;
+    private boolean finished;
+    private long startedAt;
+
+    /**
+     * @param description tujuan untuk laporan, mis. "you" / "the event"
+     * @param arrivalBar  action bar untuk player yang tiba (null = tidak ada)
+     */
+    MassTeleport(OnousCore plugin, ChunkWarmer warmer, CommandSender sender, Location destination,
+                 Collection<? extends Player> targets, String description, String arrivalBar) {
+        this.plugin = plugin;
+        this.warmer = warmer;
+        this.sender = sender;
+        this.destination = destination.clone();
+        this.targets = targets.toArray(new Player[0]);
+        this.description = description;
+        this.arrivalBar = arrivalBar;
+        this.perTick = Math.max(1, plugin.getConfig().getInt("teleport.mass.per-tick", 10));
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    void start() {
+        startedAt = System.currentTimeMillis();
+        planRing();
+        warmHandle = requestChunks();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Hentikan job. Player yang sudah dipindah tetap di tujuan.
+     */
+    public void cancel() {
+        if (finished) return;
+        finish();
+        CC.sendPrefixed(sender, CC.ERROR + "Mass teleport to " + description + " cancelled after "
+                + CC.WHITE + teleported + CC.ERROR + " player(s).");
+    }
+
+    private void finish() {
+        finished = true;
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        warmer.release(warmHandle);
+    }
+
+    // ═══════════════════════════════════════
+    // Processing
+    // ═══════════════════════════════════════
+
+    private void tick() {
+        if (finished) return;
+
+        World world = destination.getWorld();
+        if (world == null) {
+            cancel();
+            return;
+        }
+
+        if (!warm) {
+            // Load chunk dibagi per tick oleh warmer; tunggu sampai semua siap
+            if (!warmer.isReady(warmHandle) && ++warmTicks < MAX_WARM_TICKS) return;
+
+            buildSpots(world);
+            warm = true;
+        }
+
+        int end = Math.min(cursor + perTick, targets.length);
+        for (; cursor < end; cursor++) {
+            Player player = targets[cursor];
+            if (!player.isOnline()) continue;
+
+            plugin.getTeleport().teleportInstant(player, spots.get(teleported % spots.size()));
+            if (arrivalBar != null) CC.actionBar(player, arrivalBar);
+            teleported++;
+        }
+
+        if (cursor >= targets.length) complete();
+    }
+
+    private void complete() {
+        finish();
+        CC.sendPrefixed(sender, CC.SUCCESS + "Teleported " + CC.PRIMARY + teleported + CC.SUCCESS
+                + " players to " + description + CC.GRAY + " ("
+                + (System.currentTimeMillis() - startedAt) + " ms)");
+    }
+
+    // ═══════════════════════════════════════
+    // Spots
+    // ═══════════════════════════════════════
+
+    /**
+     * Kolom titik ring di sekitar tujuan (belum menyentuh world).
+     */
+    private void planRing() {
+        double radius = plugin.getConfig().getDouble("teleport.mass.spread-radius", 0);
+        int count = plugin.getConfig().getInt("teleport.mass.spread-spots", 8);
+        if (radius < 1 || count <= 0) return;
+
+        ringX = new int[count];
+        ringZ = new int[count];
+        for (int i = 0; i < count; i++) {
+            double angle = 2 * Math.PI * i / count;
+            ringX[i] = (int) Math.floor(destination.getX() + radius * Math.cos(angle));
+            ringZ[i] = (int) Math.floor(destination.getZ() + radius * Math.sin(angle));
+        }
+    }
+
+    /**
+     * Antrikan chunk ke warmer: tujuan dulu, lalu chunk ring (tanpa duplikat).
+     */
+    private ChunkWarmer.Handle requestChunks() {
+        Set<Long> seen = new LinkedHashSet<>();
+        seen.add(chunkKey(destination.getBlockX() >> 4, destination.getBlockZ() >> 4));
+        for (int i = 0; i < ringX.length; i++) {
+            seen.add(chunkKey(ringX[i] >> 4, ringZ[i] >> 4));
+        }
+
+        int[] xs = new int[seen.size()];
+        int[] zs = new int[seen.size()];
+        int i = 0;
+        for (long key : seen) {
+            xs[i] = (int) (key >> 32);
+            zs[i++] = (int) key;
+        }
+        return warmer.request(destination.getWorld(), xs, zs);
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Tujuan + titik aman di ring sekitarnya. Titik yang tidak aman dalam
+     * ±SPOT_Y_RANGE dari Y tujuan, atau yang chunk-nya belum ter-load, dilewati.
+     */
+    private void buildSpots(World world) {
+        spots.add(destination);
+
+        int baseY = destination.getBlockY();
+        for (int i = 0; i < ringX.length; i++) {
+            int x = ringX[i];
+            int z = ringZ[i];
+            if (!world.isChunkLoaded(x >> 4, z >> 4)) continue; // jangan load sinkron di sini
+
+            // Cari Y terdekat dari Y tujuan: 0, +1, -1, +2, -2, ...
+            for (int d = 0; d <= SPOT_Y_RANGE * 2; d++) {
+                int y = baseY + ((d & 1) == 0 ? d >> 1 : -((d + 1) >> 1));
+                if (!ColumnProbe.isSafe(world, x, y, z)) continue;
+
+                Location spot = new Location(world, x + 0.5, y, z + 0.5,
+                        destination.getYaw(), destination.getPitch());
+                spots.add(spot);
+                break;
+            }
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Getters
+    // ═══════════════════════════════════════
+
+    public int getTeleported() { return teleported; }
+    public int getTotal() { return targets.length; }
+    public boolean isFinished() { return finished; }
+}
@@ -0,0 +1,229 @@
+package com.onous.core.manager;
+
+import com.onous.core.OnousCore;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+/**
+ * Name Index
+ *
+ * Index nama ↔ UUID milik plugin sendiri, supaya command / Vault yang
+ * menerima nama tidak perlu Bukkit.getOfflinePlayer(String)
+ * (bisa blocking lookup profile untuk nama yang tidak dikenal).
+ *
+ *  - Lookup nama case-insensitive, O(1), aman dari thread async
+ *  - Di-update saat player join & quit (nama terbaru + last-seen)
+ *  - Dipersist ke names.dat (biner, ringkas), ditulis async kalau berubah
+ *  - Run pertama (belum ada names.dat): di-seed dari data player lokal server
+ */
+public class NameIndex {
+
+    public record Entry(UUID uuid, String name, long lastSeen) {}
+
+    private static final int FILE_MAGIC = 0x4F4E4958; // "ONIX"
+    private static final int FILE_VERSION = 1;
+    private static final long SAVE_INTERVAL_TICKS = 20L * 300;
+
+    private final OnousCore plugin;
+    private final File file;
+
+    private final Map<String, Entry> byName = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> byUuid = new ConcurrentHashMap<>();
+
+    private volatile boolean dirty;
+    private BukkitTask saveTask;
+
+    public NameIndex(OnousCore plugin) {
+        this.plugin = plugin;
+        this.file = new File(plugin.getDataFolder(), "names.dat");
+        load();
+    }
+
+    // ═══════════════════════════════════════
+    // Lookup
+    // ═══════════════════════════════════════
+
+    /**
+     * @return entry untuk nama ini (case-insensitive), atau null kalau belum pernah join
+     */
+    public Entry resolve(String name) {
+        if (name == null || name.isEmpty()) return null;
+        return byName.get(key(name));
+    }
+
+    public Entry get(UUID uuid) {
+        return byUuid.get(uuid);
+    }
+
+    /**
+     * @return nama terakhir yang diketahui, atau null
+     */
+    public String getName(UUID uuid) {
+        Entry entry = byUuid.get(uuid);
+        return entry != null ? entry.name() : null;
+    }
+
+    public int size() {
+        return byUuid.size();
+    }
+
+    /**
+     * View read-only semua entry (dipakai bulk /eco).
+     */
+    public Collection<Entry> entries() {
+        return Collections.unmodifiableCollection(byUuid.values());
+    }
+
+    // ═══════════════════════════════════════
+    // Update (main thread)
+    // ═══════════════════════════════════════
+
+    /**
+     * Catat nama terbaru + last-seen player (dipanggil saat join & quit).
+     */
+    public void update(UUID uuid, String name) {
+        put(new Entry(uuid, name, System.currentTimeMillis()));
+        dirty = true;
+    }
+
+    private void put(Entry entry) {
+        Entry previous = byUuid.put(entry.uuid(), entry);
+
+        // Ganti nama → lepas mapping nama lama (kalau masih milik UUID ini)
+        if (previous != null && !previous.name().equalsIgnoreCase(entry.name())) {
+            byName.remove(key(previous.name()), previous);
+        }
+
+        // Nama diambil alih akun lain → mapping lama ditimpa
+        byName.put(key(entry.name()), entry);
+    }
+
+    /**
+     * Untuk load / seed (urutan acak): UUID selalu dicatat, tapi nama yang
+     * dipakai 2 akun dimiliki akun yang terakhir online.
+     */
+    private void putIfNewest(Entry entry) {
+        byUuid.put(entry.uuid(), entry);
+
+        String key = key(entry.name());
+        Entry existing = byName.get(key);
+        if (existing == null || existing.lastSeen() < entry.lastSeen()) {
+            byName.put(key, entry);
+        }
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    // ═══════════════════════════════════════
+    // Persistence
+    // ═══════════════════════════════════════
+
+    private void load() {
+        if (!file.exists()) {
+            seed();
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                plugin.getLogger().warning("names.dat has an unknown format, rebuilding name index.");
+                seed();
+                return;
+            }
+
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                long lastSeen = in.readLong();
+                String name = in.readUTF();
+                putIfNewest(new Entry(uuid, name, lastSeen));
+            }
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.WARNING, "Failed to read names.dat, rebuilding name index", e);
+            seed();
+        }
+    }
+
+    /**
+     * Isi awal dari data player lokal server (tanpa lookup network).
+     */
+    private void seed() {
+        for (OfflinePlayer player : Bukkit.getOfflinePlayers()) {
+            String name = player.getName();
+            if (name == null) continue;
+
+            putIfNewest(new Entry(player.getUniqueId(), name, player.getLastPlayed()));
+        }
+
+        dirty = true;
+        plugin.getLogger().info("Name index seeded with " + byUuid.size() + " player(s).");
+    }
+
+    public void start() {
+        stop();
+        saveTask = plugin.getServer().getScheduler().runTaskTimerAsynchronously(plugin, () -> {
+            if (dirty) save();
+        }, SAVE_INTERVAL_TICKS, SAVE_INTERVAL_TICKS);
+    }
+
+    public void stop() {
+        if (saveTask != null) {
+            saveTask.cancel();
+            saveTask = null;
+        }
+    }
+
+    /**
+     * Tulis ke file sementara lalu rename, supaya names.dat tidak pernah setengah jadi.
+     */
+    public synchronized void save() {
+        dirty = false;
+        List<Entry> entries = new ArrayList<>(byUuid.values());
+
+        File tmp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(entries.size());
+
+            for (Entry entry : entries) {
+                out.writeLong(entry.uuid().getMostSignificantBits());
+                out.writeLong(entry.uuid().getLeastSignificantBits());
+                out.writeLong(entry.lastSeen());
+                out.writeUTF(entry.name());
+            }
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().log(Level.WARNING, "Failed to write names.dat", e);
+            return;
+        }
+
+        try {
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            plugin.getLogger().log(Level.WARNING, "Failed to replace names.dat", e);
+        }
+    }
+
+    public void shutdown() {
+        stop();
+        if (dirty) save();
+    }
+}
@@ -0,0 +1,119 @@
+package com.onous.core.manager;
+
+import com.onous.core.OnousCore;
+import com.onous.core.data.PlayerData;
+import com.onous.core.friend.model.FriendData;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Preload Manager
+ *
+ * Load data player SEBELUM join, di AsyncPlayerPreLoginEvent:
+ *  - PlayerData & FriendData di-load paralel di thread pool sendiri
+ *  - Hasilnya di-parkir di staging map (dengan timeout)
+ *  - PlayerJoinEvent cukup claim() → tidak ada disk I/O di tick join
+ *
+ * Balance ekonomi tidak perlu di-preload: EcoManager sudah memegang
+ * semua akun di memory sejak startup.
+ */
+public class PreloadManager {
+
+    private final OnousCore plugin;
+    private final ExecutorService executor;
+    private final Map<UUID, Staged> staged = new ConcurrentHashMap<>();
+
+    public PreloadManager(OnousCore plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "OnousCore-Preload");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // ═══════════════════════════════════════
+    // Preload (async pre-login thread)
+    // ═══════════════════════════════════════
+
+    /**
+     * Dipanggil dari thread AsyncPlayerPreLoginEvent. Boleh blocking.
+     */
+    public void preload(UUID uuid) {
+        sweepExpired();
+
+        CompletableFuture<PlayerData> playerFuture =
+                CompletableFuture.supplyAsync(() -> plugin.getData().loadPlayer(uuid), executor);
+        CompletableFuture<FriendData> friendFuture =
+                CompletableFuture.supplyAsync(() -> plugin.getFriends().loadData(uuid), executor);
+
+        try {
+            CompletableFuture.allOf(playerFuture, friendFuture).get(getTimeoutMillis(), TimeUnit.MILLISECONDS);
+            staged.put(uuid, new Staged(playerFuture.join(), friendFuture.join(), System.currentTimeMillis()));
+        } catch (Exception e) {
+            // Gagal / timeout → join akan load secara normal (sinkron)
+            plugin.getLogger().log(Level.WARNING, "Failed to preload data for " + uuid, e);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Claim (main thread, PlayerJoinEvent)
+    // ═══════════════════════════════════════
+
+    /**
+     * Pindahkan data yang sudah di-preload ke cache manager.
+     *
+     * @return true kalau ada data staged yang dipakai
+     */
+    public boolean claim(UUID uuid) {
+        Staged entry = staged.remove(uuid);
+        if (entry == null || entry.isExpired(getTimeoutMillis())) return false;
+
+        plugin.getData().adoptPlayer(entry.playerData());
+        plugin.getFriends().adoptData(entry.friendData());
+        return true;
+    }
+
+    public int getStagedCount() {
+        return staged.size();
+    }
+
+    // ═══════════════════════════════════════
+    // Cleanup
+    // ═══════════════════════════════════════
+
+    /**
+     * Buang entry yang tidak pernah di-claim
+     * (mis. login ditolak plugin lain setelah pre-login).
+     */
+    private void sweepExpired() {
+        long timeout = getTimeoutMillis();
+        staged.values().removeIf(entry -> entry.isExpired(timeout));
+    }
+
+    private long getTimeoutMillis() {
+        return Math.max(1, plugin.getConfig().getInt("storage.preload-timeout", 30)) * 1000L;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        staged.clear();
+    }
+
+    // ═══════════════════════════════════════
+    // Data class
+    // ═══════════════════════════════════════
+
+    private record Staged(PlayerData playerData, FriendData friendData, long stagedAt) {
+        boolean isExpired(long timeoutMillis) {
+            return System.currentTimeMillis() - stagedAt > timeoutMillis;
+        }
+    }
+}
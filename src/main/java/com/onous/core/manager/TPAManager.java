@@ -5,12 +5,17 @@ import com.onous.core.data.PlayerData;
 import com.onous.core.gui.ConfirmGUI;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
+import com.onous.core.util.TimingWheel;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -29,11 +34,17 @@ import java.util.UUID;
  *      • target.autoTpa == true
  *      • ATAU (sender adalah friend & target.autoFriendTp == true)
  *  - cancelAll(UUID) untuk cleanup saat quit
+ *
+ * Penyimpanan:
+ *  - bySender: sender → request (1 request aktif per sender)
+ *  - byTarget: target → deque request masuk, urut waktu (terbaru di akhir)
+ * Semua operasi hanya menyentuh request milik player itu sendiri.
  */
 public class TPAManager {
 
     private final OnousCore plugin;
-    private final Map<UUID, TPARequest> requests = new HashMap<>();
+    private final Map<UUID, TPARequest> bySender = new HashMap<>();
+    private final Map<UUID, Deque<TPARequest>> byTarget = new HashMap<>();
 
     public TPAManager(OnousCore plugin) {
         this.plugin = plugin;
@@ -61,7 +72,7 @@ public class TPAManager {
             return false;
         }
 
-        if (requests.containsKey(s)) {
+        if (bySender.containsKey(s)) {
             CC.sendPrefixed(sender, plugin.getMessage("tpa-already-pending"));
             Sounds.error(sender);
             return false;
@@ -99,22 +110,19 @@ public class TPAManager {
         // NORMAL FLOW (GUI request)
         int expireSec = plugin.getConfig().getInt("tpa.expire", 60);
 
-        BukkitTask expireTask = new BukkitRunnable() {
-            @Override
-            public void run() {
-                TPARequest req = requests.remove(s);
-                if (req != null) {
-                    Player sp = Bukkit.getPlayer(s);
-                    if (sp != null && sp.isOnline()) {
-                        CC.sendPrefixed(sp, plugin.getMessage("tpa-expired"));
-                        Sounds.error(sp);
-                    }
+        TPARequest request = new TPARequest(s, t);
+        request.expireTask = plugin.getTimers().scheduleSeconds(expireSec, () -> {
+            if (remove(request)) {
+                Player sp = Bukkit.getPlayer(s);
+                if (sp != null && sp.isOnline()) {
+                    CC.sendPrefixed(sp, plugin.getMessage("tpa-expired"));
+                    Sounds.error(sp);
                 }
             }
-        }.runTaskLater(plugin, expireSec * 20L);
+        });
 
-        TPARequest request = new TPARequest(s, t, expireTask);
-        requests.put(s, request);
+        bySender.put(s, request);
+        byTarget.computeIfAbsent(t, k -> new ArrayDeque<>()).addLast(request);
 
         CC.sendPrefixed(sender, plugin.getMessage("tpa-sent").replace("{player}", target.getName()));
 
@@ -123,8 +131,8 @@ public class TPAManager {
                 target,
                 CC.PRIMARY + "TPA Request",
                 CC.WHITE + sender.getName() + CC.GRAY + " wants to teleport to you",
-                () -> acceptLatest(target),
-                () -> denyLatest(target)
+                () -> accept(target, s),
+                () -> deny(target, s)
         ).open();
 
         Sounds.notify(target);
@@ -135,38 +143,38 @@ public class TPAManager {
     // Accept / Deny
     // ═══════════════════════════════════════
 
+    /**
+     * Terima request masuk yang paling baru.
+     */
     public void acceptLatest(Player target) {
-        UUID t = target.getUniqueId();
-
-        for (Map.Entry<UUID, TPARequest> e : requests.entrySet()) {
-            TPARequest req = e.getValue();
-            if (req.target().equals(t)) {
-                acceptRequest(e.getKey(), target, req);
-                return;
-            }
-        }
-
-        CC.sendPrefixed(target, plugin.getMessage("tpa-no-pending"));
-        Sounds.error(target);
+        TPARequest req = latest(target.getUniqueId());
+        acceptRequest(req != null ? req.sender : null, target, req);
     }
 
+    /**
+     * Tolak request masuk yang paling baru.
+     */
     public void denyLatest(Player target) {
-        UUID t = target.getUniqueId();
+        TPARequest req = latest(target.getUniqueId());
+        denyRequest(req != null ? req.sender : null, target, req);
+    }
 
-        for (Map.Entry<UUID, TPARequest> e : requests.entrySet()) {
-            TPARequest req = e.getValue();
-            if (req.target().equals(t)) {
-                denyRequest(e.getKey(), target, req);
-                return;
-            }
-        }
+    /**
+     * Terima request dari sender tertentu.
+     */
+    public void accept(Player target, UUID senderUUID) {
+        acceptRequest(senderUUID, target, bySender.get(senderUUID));
+    }
 
-        CC.sendPrefixed(target, plugin.getMessage("tpa-no-pending"));
-        Sounds.error(target);
+    /**
+     * Tolak request dari sender tertentu.
+     */
+    public void deny(Player target, UUID senderUUID) {
+        denyRequest(senderUUID, target, bySender.get(senderUUID));
     }
 
     private void acceptRequest(UUID senderUUID, Player target, TPARequest req) {
-        if (req == null || !req.target().equals(target.getUniqueId())) {
+        if (req == null || !req.target.equals(target.getUniqueId())) {
             CC.sendPrefixed(target, plugin.getMessage("tpa-no-pending"));
             Sounds.error(target);
             return;
@@ -176,11 +184,11 @@ public class TPAManager {
         if (sender == null || !sender.isOnline()) {
             CC.sendPrefixed(target, plugin.getMessage("player-offline"));
             Sounds.error(target);
-            cleanup(senderUUID, req);
+            remove(req);
             return;
         }
 
-        cleanup(senderUUID, req);
+        remove(req);
 
         plugin.getTeleport().teleport(sender, target.getLocation(), () -> {
             CC.sendPrefixed(sender, plugin.getMessage("tpa-accepted"));
@@ -192,7 +200,7 @@ public class TPAManager {
     }
 
     private void denyRequest(UUID senderUUID, Player target, TPARequest req) {
-        if (req == null || !req.target().equals(target.getUniqueId())) {
+        if (req == null || !req.target.equals(target.getUniqueId())) {
             CC.sendPrefixed(target, plugin.getMessage("tpa-no-pending"));
             Sounds.error(target);
             return;
@@ -200,7 +208,7 @@ public class TPAManager {
 
         Player sender = Bukkit.getPlayer(senderUUID);
 
-        cleanup(senderUUID, req);
+        remove(req);
 
         if (sender != null && sender.isOnline()) {
             CC.sendPrefixed(sender, plugin.getMessage("tpa-denied"));
@@ -211,11 +219,55 @@ public class TPAManager {
         Sounds.pop(target);
     }
 
-    private void cleanup(UUID senderUUID, TPARequest req) {
-        requests.remove(senderUUID);
-        if (req.expireTask() != null) {
-            req.expireTask().cancel();
+    // ═══════════════════════════════════════
+    // Query
+    // ═══════════════════════════════════════
+
+    /**
+     * Sender semua request masuk untuk target ini, terbaru dulu
+     * (untuk tab-complete / GUI pemilih request).
+     */
+    public List<UUID> getIncoming(UUID target) {
+        Deque<TPARequest> queue = byTarget.get(target);
+        if (queue == null) return Collections.emptyList();
+
+        List<UUID> senders = new ArrayList<>(queue.size());
+        Iterator<TPARequest> it = queue.descendingIterator();
+        while (it.hasNext()) {
+            senders.add(it.next().sender);
+        }
+        return senders;
+    }
+
+    /**
+     * @return target request yang sedang dikirim player ini, atau null
+     */
+    public UUID getOutgoing(UUID sender) {
+        TPARequest req = bySender.get(sender);
+        return req != null ? req.target : null;
+    }
+
+    private TPARequest latest(UUID target) {
+        Deque<TPARequest> queue = byTarget.get(target);
+        return queue != null ? queue.peekLast() : null;
+    }
+
+    /**
+     * Lepas request dari kedua index dan batalkan timer expire-nya.
+     *
+     * @return false kalau request sudah tidak aktif
+     */
+    private boolean remove(TPARequest req) {
+        if (!bySender.remove(req.sender, req)) return false;
+
+        Deque<TPARequest> queue = byTarget.get(req.target);
+        if (queue != null) {
+            queue.remove(req);
+            if (queue.isEmpty()) byTarget.remove(req.target);
         }
+
+        if (req.expireTask != null) req.expireTask.cancel();
+        return true;
     }
 
     // ═══════════════════════════════════════
@@ -223,26 +275,32 @@ public class TPAManager {
     // ═══════════════════════════════════════
 
     public void cancelAll(UUID playerUUID) {
-        // Hapus request dikirim oleh player
-        TPARequest asSender = requests.remove(playerUUID);
-        if (asSender != null && asSender.expireTask() != null) {
-            asSender.expireTask().cancel();
-        }
-
-        // Hapus request target = player
-        requests.entrySet().removeIf(entry -> {
-            TPARequest req = entry.getValue();
-            if (req.target().equals(playerUUID)) {
-                if (req.expireTask() != null) req.expireTask().cancel();
-                return true;
+        // Request yang dikirim player
+        TPARequest asSender = bySender.get(playerUUID);
+        if (asSender != null) remove(asSender);
+
+        // Request yang masuk ke player
+        Deque<TPARequest> incoming = byTarget.remove(playerUUID);
+        if (incoming != null) {
+            for (TPARequest req : incoming) {
+                bySender.remove(req.sender, req);
+                if (req.expireTask != null) req.expireTask.cancel();
             }
-            return false;
-        });
+        }
     }
 
     // ═══════════════════════════════════════
     // Data class
     // ═══════════════════════════════════════
 
-    private record TPARequest(UUID sender, UUID target, BukkitTask expireTask) {}
+    private static final class TPARequest {
+        final UUID sender;
+        final UUID target;
+        TimingWheel.Timer expireTask;
+
+        TPARequest(UUID sender, UUID target) {
+            this.sender = sender;
+            this.target = target;
+        }
+    }
 }
\ No newline at end of file
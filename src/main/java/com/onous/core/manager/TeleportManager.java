@@ -3,23 +3,58 @@ package com.onous.core.manager;
 import com.onous.core.OnousCore;
 import com.onous.core.util.CC;
 import com.onous.core.util.Sounds;
+import net.md_5.bungee.api.chat.BaseComponent;
 import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
 
+/**
+ * Teleport Manager
+ *
+ * Semua teleport dengan countdown digerakkan 1 task bersama (bukan 1 task
+ * per teleport):
+ *  - Request diurutkan di priority queue berdasarkan tick event berikutnya
+ *      (update countdown tiap 20 tick, lalu deadline)
+ *  - Tiap tick hanya request yang jatuh tempo yang disentuh; completion
+ *      dijalankan setelahnya, urut sesuai deadline
+ *  - Action bar countdown di-render sekali per angka lalu dipakai ulang
+ *  - Cancel O(1): request ditandai batal, dibuang saat sampai di head queue
+ *  - Task hanya jalan selama ada teleport pending
+ *  - Chunk tujuan di-load selama countdown lewat {@link ChunkWarmer}
+ *  - Teleport massal (tanpa countdown) lewat {@link MassTeleport}
+ */
 public class TeleportManager {
 
+    private static final long SECOND = 20L;
+
     private final OnousCore plugin;
     private final Map<UUID, TeleportRequest> pendingTeleports;
+    private final PriorityQueue<TeleportRequest> schedule;
+    private final List<BaseComponent[]> countdownBars = new ArrayList<>();
+    private final ChunkWarmer warmer;
+
+    private BukkitTask driver;
+    private long currentTick;
+    private long sequence;
+    private int warmBudget;
 
     public TeleportManager(OnousCore plugin) {
         this.plugin = plugin;
         this.pendingTeleports = new HashMap<>();
+        this.schedule = new PriorityQueue<>(Comparator
+                .comparingLong((TeleportRequest request) -> request.nextTick)
+                .thenComparingLong(request -> request.sequence));
+        this.warmer = new ChunkWarmer(plugin);
     }
 
     public void teleport(Player player, Location destination, Runnable onComplete) {
@@ -39,37 +74,42 @@ public class TeleportManager {
         CC.actionBar(player, plugin.getMessage("teleport-starting"));
         Sounds.tick(player);
 
-        BukkitTask task = new BukkitRunnable() {
-            int countdown = delay;
-
-            @Override
-            public void run() {
-                if (!player.isOnline()) {
-                    cancel();
-                    pendingTeleports.remove(uuid);
-                    return;
-                }
-
-                countdown--;
-
-                if (countdown <= 0) {
-                    execute(player, destination, onComplete);
-                    cancel();
-                    pendingTeleports.remove(uuid);
-                } else {
-                    CC.actionBar(player, CC.PRIMARY + "⏳ " + CC.WHITE + countdown + "s");
-                    Sounds.countdown(player, countdown);
-                }
-            }
-        }.runTaskTimer(plugin, 20L, 20L);
+        TeleportRequest request = new TeleportRequest(player, destination, onComplete, startLocation,
+                delay, currentTick + SECOND, sequence++);
 
-        pendingTeleports.put(uuid, new TeleportRequest(task, startLocation));
+        // Muat chunk tujuan selama countdown
+        warmBudget = Math.max(1, plugin.getConfig().getInt("teleport.prewarm-chunks-per-tick", 2));
+        request.warm = warmer.request(destination, plugin.getConfig().getInt("teleport.prewarm-radius", 1));
+
+        pendingTeleports.put(uuid, request);
+        schedule.add(request);
+        startDriver();
     }
 
     public void teleport(Player player, Location destination) {
         teleport(player, destination, null);
     }
 
+    /**
+     * Teleport banyak player ke 1 tujuan secara bertahap (/tpahere *, summon event).
+     *
+     * @param description tujuan untuk laporan ke sender, mis. "you"
+     * @param arrivalBar  action bar untuk player yang tiba (boleh null)
+     * @return job yang berjalan, atau null kalau world tujuan tidak ada
+     */
+    public MassTeleport startMass(CommandSender sender, Location destination, Collection<? extends Player> targets,
+                                  String description, String arrivalBar) {
+        if (destination.getWorld() == null) return null;
+
+        MassTeleport job = new MassTeleport(plugin, warmer, sender, destination, targets, description, arrivalBar);
+        job.start();
+
+        // Chunk job di-load oleh warmer, digerakkan driver yang sama
+        warmBudget = Math.max(1, plugin.getConfig().getInt("teleport.prewarm-chunks-per-tick", 2));
+        startDriver();
+        return job;
+    }
+
     /** ✅ Dipakai oleh /spawn (hub-style) */
     public void teleportInstant(Player player, Location destination) {
         cancel(player.getUniqueId());
@@ -88,7 +128,10 @@ public class TeleportManager {
 
     public void cancel(UUID uuid) {
         TeleportRequest request = pendingTeleports.remove(uuid);
-        if (request != null) request.task().cancel();
+        if (request != null) {
+            request.cancelled = true;
+            warmer.release(request.warm);
+        }
     }
 
     public boolean hasPending(UUID uuid) {
@@ -97,7 +140,7 @@ public class TeleportManager {
 
     public Location getStartLocation(UUID uuid) {
         TeleportRequest request = pendingTeleports.get(uuid);
-        return request != null ? request.startLocation() : null;
+        return request != null ? request.startLocation : null;
     }
 
     public void onMove(Player player) {
@@ -127,5 +170,106 @@ public class TeleportManager {
         Sounds.error(player);
     }
 
-    private record TeleportRequest(BukkitTask task, Location startLocation) {}
+    public int getPendingCount() {
+        return pendingTeleports.size();
+    }
+
+    public ChunkWarmer getWarmer() {
+        return warmer;
+    }
+
+    // ═══════════════════════════════════════
+    // Countdown Driver
+    // ═══════════════════════════════════════
+
+    private void startDriver() {
+        if (driver == null) {
+            driver = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+    }
+
+    private void stopDriver() {
+        if (driver != null) {
+            driver.cancel();
+            driver = null;
+        }
+        schedule.clear();
+    }
+
+    private void tick() {
+        currentTick++;
+        warmer.tick(warmBudget);
+
+        List<TeleportRequest> completed = null;
+        TeleportRequest request;
+
+        while ((request = schedule.peek()) != null && request.nextTick <= currentTick) {
+            schedule.poll();
+            if (request.cancelled) continue;
+
+            Player player = request.player;
+            if (!player.isOnline()) {
+                pendingTeleports.remove(player.getUniqueId(), request);
+                warmer.release(request.warm);
+                continue;
+            }
+
+            request.countdown--;
+
+            if (request.countdown <= 0) {
+                pendingTeleports.remove(player.getUniqueId(), request);
+                if (completed == null) completed = new ArrayList<>();
+                completed.add(request);
+            } else {
+                CC.actionBar(player, countdownBar(request.countdown));
+                Sounds.countdown(player, request.countdown);
+                request.nextTick += SECOND;
+                schedule.add(request);
+            }
+        }
+
+        // Setelah loop: onComplete boleh memulai teleport baru
+        if (completed != null) {
+            for (TeleportRequest done : completed) {
+                execute(done.player, done.destination, done.onComplete);
+                // Player sudah di sana, chunk-nya ditahan ticket player sendiri
+                warmer.release(done.warm);
+            }
+        }
+
+        if (pendingTeleports.isEmpty() && warmer.getQueuedCount() == 0) {
+            stopDriver();
+        }
+    }
+
+    private BaseComponent[] countdownBar(int seconds) {
+        while (countdownBars.size() <= seconds) {
+            countdownBars.add(CC.components(CC.PRIMARY + "⏳ " + CC.WHITE + countdownBars.size() + "s"));
+        }
+        return countdownBars.get(seconds);
+    }
+
+    private static final class TeleportRequest {
+        final Player player;
+        final Location destination;
+        final Runnable onComplete;
+        final Location startLocation;
+        final long sequence;
+
+        int countdown;
+        long nextTick;
+        boolean cancelled;
+        ChunkWarmer.Handle warm;
+
+        TeleportRequest(Player player, Location destination, Runnable onComplete, Location startLocation,
+                        int countdown, long nextTick, long sequence) {
+            this.player = player;
+            this.destination = destination;
+            this.onComplete = onComplete;
+            this.startLocation = startLocation;
+            this.countdown = countdown;
+            this.nextTick = nextTick;
+            this.sequence = sequence;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,147 @@
+package com.onous.core.rtp;
+
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.Tag;
+import org.bukkit.World;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Column Probe
+ *
+ * Cari Y aman di 1 kolom dengan sesedikit mungkin lookup blok:
+ *  - Overworld / End: heightmap snapshot (MOTION_BLOCKING) langsung memberi
+ *      blok teratas; daun dilewati (setara MOTION_BLOCKING_NO_LEAVES),
+ *      lalu cukup cek ground + feet + head
+ *  - Nether (ada atap bedrock, heightmap tidak berguna): scan lantai gua
+ *      dari atas ke bawah, section kosong dilewati sekaligus, 1 lookup per Y
+ *  - Material berbahaya dicek lewat EnumSet (bitset), bukan switch
+ *  - Feet / head wajib udara, atau tanaman kecil dari daftar eksplisit
+ *
+ * Method snapshot aman dipanggil dari thread worker.
+ * Buat instance di main thread (isi set daun diambil dari Tag).
+ */
+public final class ColumnProbe {
+
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final Set<Material> DANGEROUS = EnumSet.of(
+            Material.LAVA, Material.WATER, Material.FIRE, Material.SOUL_FIRE, Material.MAGMA_BLOCK,
+            Material.CACTUS, Material.SWEET_BERRY_BUSH, Material.POWDER_SNOW, Material.POINTED_DRIPSTONE
+    );
+
+    // Selain udara, hanya tanaman kecil ini yang boleh ada di posisi feet / head
+    // (cobweb, vine, portal, scaffolding, dll tetap ditolak)
+    private static final Set<Material> PASSABLE = EnumSet.of(
+            Material.SHORT_GRASS, Material.FERN, Material.SNOW,
+            Material.DANDELION, Material.POPPY, Material.BLUE_ORCHID, Material.ALLIUM, Material.AZURE_BLUET,
+            Material.RED_TULIP, Material.ORANGE_TULIP, Material.WHITE_TULIP, Material.PINK_TULIP,
+            Material.OXEYE_DAISY, Material.CORNFLOWER, Material.LILY_OF_THE_VALLEY
+    );
+
+    // Batas turun lewat kanopi pohon
+    private static final int MAX_CANOPY_DEPTH = 32;
+
+    private final Set<Material> leaves = EnumSet.noneOf(Material.class);
+
+    public ColumnProbe() {
+        leaves.addAll(Tag.LEAVES.getValues());
+    }
+
+    public static boolean isDangerous(Material material) {
+        return DANGEROUS.contains(material);
+    }
+
+    // ═══════════════════════════════════════
+    // Snapshot (thread worker)
+    // ═══════════════════════════════════════
+
+    /**
+     * @param x          koordinat lokal chunk (0-15)
+     * @param z          koordinat lokal chunk (0-15)
+     * @param minY       Y terendah yang boleh dipakai (feet)
+     * @param maxY       Y tertinggi yang boleh dipakai (feet)
+     * @param minHeight  world.getMinHeight(), untuk index section
+     * @return Y feet yang aman, atau {@link #NONE}
+     */
+    public int probe(ChunkSnapshot snapshot, World.Environment env, int x, int z,
+                     int minY, int maxY, int minHeight) {
+        return env == World.Environment.NETHER
+                ? scanCaveFloor(snapshot, x, z, minY, maxY, minHeight)
+                : probeSurface(snapshot, x, z, minY, maxY);
+    }
+
+    private int probeSurface(ChunkSnapshot snapshot, int x, int z, int minY, int maxY) {
+        int ground = snapshot.getHighestBlockYAt(x, z);
+        if (ground + 1 < minY || ground + 1 > maxY) return NONE; // void (End) / terlalu tinggi
+
+        Material type = snapshot.getBlockType(x, ground, z);
+
+        // Di bawah kanopi: turun lewat daun DAN udara / tanaman di bawahnya
+        // sampai tanah sungguhan (setara MOTION_BLOCKING_NO_LEAVES)
+        for (int i = 0; i < MAX_CANOPY_DEPTH
+                && (leaves.contains(type) || (i > 0 && isPassable(type))); i++) {
+            if (ground < minY) return NONE;
+            type = snapshot.getBlockType(x, --ground, z);
+        }
+
+        int feet = ground + 1;
+        if (leaves.contains(type)) return NONE;                 // kanopi terlalu tebal
+        if (!type.isSolid() || isDangerous(type)) return NONE;  // laut, lava, dll
+
+        return isPassable(snapshot.getBlockType(x, feet, z))
+                && isPassable(snapshot.getBlockType(x, feet + 1, z)) ? feet : NONE;
+    }
+
+    /**
+     * Turun dari atas: hitung blok kosong berturut-turut, berhenti di blok
+     * padat pertama yang punya 2 blok kosong di atasnya.
+     */
+    private int scanCaveFloor(ChunkSnapshot snapshot, int x, int z, int minY, int maxY, int minHeight) {
+        int space = 0;
+        int y = maxY + 1; // head untuk feet = maxY
+
+        while (y >= minY - 1) {
+            int section = (y - minHeight) >> 4;
+            if (snapshot.isSectionEmpty(section)) {
+                // Seluruh section udara: lompat ke section di bawahnya
+                int bottom = minHeight + (section << 4);
+                space += y - bottom + 1;
+                y = bottom - 1;
+                continue;
+            }
+
+            Material type = snapshot.getBlockType(x, y, z);
+            if (isPassable(type)) {
+                space++;
+            } else {
+                if (space >= 2 && y + 1 <= maxY && y + 1 >= minY && type.isSolid() && !isDangerous(type)) {
+                    return y + 1;
+                }
+                space = 0;
+            }
+            y--;
+        }
+        return NONE;
+    }
+
+    private static boolean isPassable(Material type) {
+        return type.isAir() || PASSABLE.contains(type);
+    }
+
+    // ═══════════════════════════════════════
+    // Live World (main thread)
+    // ═══════════════════════════════════════
+
+    /**
+     * Cek ulang 1 titik di world (3 lookup), dipakai sebelum teleport.
+     */
+    public static boolean isSafe(World world, int x, int feet, int z) {
+        Material ground = world.getBlockAt(x, feet - 1, z).getType();
+        return ground.isSolid() && !isDangerous(ground)
+                && isPassable(world.getBlockAt(x, feet, z).getType())
+                && isPassable(world.getBlockAt(x, feet + 1, z).getType());
+    }
+}
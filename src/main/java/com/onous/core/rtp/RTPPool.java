@@ -0,0 +1,526 @@
+package com.onous.core.rtp;
+
+import com.onous.core.OnousCore;
+import com.onous.core.manager.ChunkWarmer;
+import com.onous.core.util.CC;
+import com.onous.core.util.Sounds;
+import org.bukkit.Chunk;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * RTP Pool
+ *
+ * Lokasi RTP yang sudah diverifikasi, disiapkan di background per world:
+ *  - Main thread: load chunk kandidat, tahan dengan chunk ticket, lalu ambil ChunkSnapshot
+ *  - Thread worker: cek keamanan di snapshot (tidak ada akses world di luar main thread)
+ *  - Hasil masuk antrian "ready" per world; chunk-nya tetap ditahan ticket
+ *
+ * Klik RTP = ambil 1 lokasi dari antrian (O(1)) lalu teleport ke chunk yang
+ * sudah ter-load. Kalau antrian kosong, player menunggu (FIFO) sampai
+ * lokasi berikutnya siap.
+ *
+ * Batas beban (semua world digabung):
+ *  - rtp.pool.max-searches: pencarian (chunk kandidat) yang berjalan bersamaan
+ *  - rtp.pool.chunks-per-tick: chunk yang benar-benar di-load / generate per tick
+ *  - Player yang menunggu melihat posisi antrian di action bar,
+ *      keluar antrian saat quit / bergerak (teleport.cancel-on-move)
+ *  - Region yang berulang kali gagal (laut, lava) diingat di {@link RegionCache};
+ *      sampler mengambil dari cell lain dulu
+ */
+public class RTPPool {
+
+    private static final int COLUMNS_PER_CHUNK = 8;
+
+    /** Antrian per world. Semua field hanya disentuh main thread. */
+    private static final class WorldPool {
+        final World world;
+        final World.Environment env;
+        final int minHeight;
+        final int minY;
+        final int maxY;
+        final ArrayDeque<Location> ready = new ArrayDeque<>();
+        final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+        final RegionCache regions;
+        int inFlight;
+
+        WorldPool(World world) {
+            this.world = world;
+            this.env = world.getEnvironment();
+            this.minHeight = world.getMinHeight();
+            boolean nether = env == World.Environment.NETHER;
+            this.minY = nether ? 32 : minHeight + 10;
+            this.maxY = nether ? 100 : world.getMaxHeight() - 20;
+            this.regions = new RegionCache(world.getName());
+        }
+    }
+
+    private static final class Waiter {
+        final Player player;
+        final Location start;
+        final long enqueuedAt;
+        final long deadline;
+        boolean cancelled;
+
+        Waiter(Player player, long enqueuedAt, long deadline) {
+            this.player = player;
+            this.start = player.getLocation();
+            this.enqueuedAt = enqueuedAt;
+            this.deadline = deadline;
+        }
+    }
+
+    /** Hasil cek worker, diproses main thread di tick berikutnya. */
+    private record Checked(WorldPool pool, int chunkX, int chunkZ, Location safe, long startedAt) {}
+
+    /** Statistik durasi sederhana (nanos), main thread saja. */
+    public static final class Timing {
+        private long count;
+        private long total;
+        private long max;
+
+        void record(long nanos) {
+            count++;
+            total += nanos;
+            if (nanos > max) max = nanos;
+        }
+
+        public long getCount() { return count; }
+        public double getAverageMillis() { return count == 0 ? 0 : total / 1e6 / count; }
+        public double getMaxMillis() { return max / 1e6; }
+    }
+
+    private static final int QUEUE_DISPLAY_INTERVAL = 20; // ticks
+
+    // Sample ulang maksimal N kali kalau jatuh di region yang ditolak;
+    // kalau semua ditolak, sample terakhir tetap dipakai (cache tidak bisa mengunci world)
+    private static final int SAMPLE_TRIES = 8;
+
+    private final OnousCore plugin;
+    private final Map<UUID, WorldPool> pools = new HashMap<>();
+    private final Queue<Checked> results = new ConcurrentLinkedQueue<>();
+    private final ColumnProbe probe = new ColumnProbe();
+    private final Map<UUID, Waiter> waiting = new HashMap<>();
+
+    // Metrics
+    private final Timing queueWait = new Timing();
+    private final Timing searchTime = new Timing();
+    private long searchesFound;
+    private long searchesEmpty;
+    private long timeouts;
+    private long cancels;
+    private long chunkLoads;
+
+    private ExecutorService worker;
+    private BukkitTask task;
+    private int roundRobin;
+    private int searching;
+    private long ticks;
+
+    public RTPPool(OnousCore plugin) {
+        this.plugin = plugin;
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    public void start() {
+        stop();
+
+        worker = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "OnousCore-RTP");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // World yang aktif langsung disiapkan, supaya klik pertama tidak menunggu
+        for (World world : plugin.getServer().getWorlds()) {
+            if (isEnabled(world.getEnvironment())) pool(world);
+        }
+
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::tick, 20L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (worker != null) {
+            // Biarkan pengecekan yang sudah antri selesai (cepat, hanya snapshot),
+            // supaya tiap chunk in-flight menghasilkan Checked dan ticket-nya bisa dilepas
+            worker.shutdown();
+            try {
+                if (!worker.awaitTermination(1, TimeUnit.SECONDS)) worker.shutdownNow();
+            } catch (InterruptedException e) {
+                worker.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+
+        ChunkWarmer warmer = plugin.getTeleport().getWarmer();
+        Checked checked;
+        while ((checked = results.poll()) != null) {
+            warmer.unhold(checked.pool().world, checked.chunkX(), checked.chunkZ());
+        }
+
+        for (WorldPool pool : pools.values()) {
+            for (Location location : pool.ready) {
+                warmer.unhold(pool.world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+            }
+            for (Waiter waiter : pool.waiters) {
+                if (waiter.cancelled || !waiter.player.isOnline()) continue;
+                CC.sendPrefixed(waiter.player, plugin.getMessage("rtp-failed"));
+            }
+        }
+        pools.clear();
+        results.clear();
+        waiting.clear();
+        searching = 0;
+    }
+
+    private boolean isEnabled(World.Environment env) {
+        String key = switch (env) {
+            case NORMAL -> "overworld";
+            case NETHER -> "nether";
+            case THE_END -> "end";
+            default -> null;
+        };
+        return key != null && plugin.getConfig().getBoolean("rtp.worlds." + key, false);
+    }
+
+    private WorldPool pool(World world) {
+        return pools.computeIfAbsent(world.getUID(), id -> new WorldPool(world));
+    }
+
+    // ═══════════════════════════════════════
+    // RTP
+    // ═══════════════════════════════════════
+
+    /**
+     * RTP player ke world ini: langsung kalau ada lokasi siap,
+     * kalau tidak player masuk antrian tunggu.
+     */
+    public void send(Player player, World world) {
+        UUID uuid = player.getUniqueId();
+        if (waiting.containsKey(uuid)) {
+            CC.sendPrefixed(player, plugin.getMessage("rtp-already-queued"));
+            Sounds.error(player);
+            return;
+        }
+
+        WorldPool pool = pool(world);
+        long now = System.nanoTime();
+
+        // Antrian tunggu harus dilayani duluan (FIFO)
+        Location location = pool.waiters.isEmpty() ? pollReady(pool) : null;
+        if (location != null) {
+            queueWait.record(0L);
+            dispatch(pool, player, location);
+            return;
+        }
+
+        long timeout = plugin.getConfig().getLong("rtp.pool.wait-timeout", 20) * 1_000_000_000L;
+        Waiter waiter = new Waiter(player, now, now + timeout);
+        pool.waiters.add(waiter);
+        waiting.put(uuid, waiter);
+
+        CC.sendPrefixed(player, plugin.getMessage("rtp-searching"));
+        showPosition(waiter, pool.waiters.size());
+    }
+
+    /**
+     * Keluarkan player dari antrian (quit / batal). Dibuang lazy dari deque.
+     */
+    public boolean cancel(UUID uuid) {
+        Waiter waiter = waiting.remove(uuid);
+        if (waiter == null) return false;
+        waiter.cancelled = true;
+        cancels++;
+        return true;
+    }
+
+    public boolean isWaiting(UUID uuid) {
+        return waiting.containsKey(uuid);
+    }
+
+    public void onMove(Player player) {
+        Waiter waiter = waiting.get(player.getUniqueId());
+        if (waiter == null) return;
+        if (!plugin.getConfig().getBoolean("teleport.cancel-on-move", true)) return;
+
+        Location now = player.getLocation();
+        if (now.getWorld() == waiter.start.getWorld() && now.distanceSquared(waiter.start) <= 0.25) return;
+
+        cancel(player.getUniqueId());
+        CC.actionBar(player, plugin.getMessage("rtp-cancelled"));
+        Sounds.error(player);
+    }
+
+    public int getReadyCount(World world) {
+        WorldPool pool = pools.get(world.getUID());
+        return pool != null ? pool.ready.size() : 0;
+    }
+
+    // ═══════════════════════════════════════
+    // Metrics
+    // ═══════════════════════════════════════
+
+    public Timing getQueueWait() { return queueWait; }
+    public Timing getSearchTime() { return searchTime; }
+    public long getSearchesFound() { return searchesFound; }
+    public long getSearchesEmpty() { return searchesEmpty; }
+    public long getTimeouts() { return timeouts; }
+    public long getCancels() { return cancels; }
+    public long getChunkLoads() { return chunkLoads; }
+    public int getSearching() { return searching; }
+    public int getWaitingCount() { return waiting.size(); }
+
+    public int getRejectThreshold() {
+        return Math.max(1, plugin.getConfig().getInt("rtp.pool.reject-threshold", 3));
+    }
+
+    public List<RegionCache> getRegionCaches() {
+        List<RegionCache> list = new ArrayList<>(pools.size());
+        for (WorldPool pool : pools.values()) list.add(pool.regions);
+        return list;
+    }
+
+    public int getReadyCount() {
+        int total = 0;
+        for (WorldPool pool : pools.values()) total += pool.ready.size();
+        return total;
+    }
+
+    /**
+     * Ambil lokasi siap. Cek ulang singkat di main thread: blok bisa saja
+     * berubah sejak snapshot diambil.
+     */
+    private Location pollReady(WorldPool pool) {
+        Location location;
+        while ((location = pool.ready.poll()) != null) {
+            if (ColumnProbe.isSafe(pool.world, location.getBlockX(), location.getBlockY(), location.getBlockZ())) {
+                return location;
+            }
+            plugin.getTeleport().getWarmer().unhold(pool.world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        }
+        return null;
+    }
+
+    private void dispatch(WorldPool pool, Player player, Location location) {
+        plugin.getTeleport().teleport(player, location, () ->
+                CC.sendPrefixed(player, plugin.getMessage("rtp-success"))
+        );
+
+        int cooldown = plugin.getConfig().getInt("rtp.cooldown", 300);
+        plugin.getCooldown().set(player.getUniqueId(), "rtp", cooldown);
+
+        // Teleport sudah menahan chunk-nya sendiri
+        plugin.getTeleport().getWarmer().unhold(pool.world, location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    // ═══════════════════════════════════════
+    // Refill (main thread)
+    // ═══════════════════════════════════════
+
+    private void tick() {
+        drainResults();
+        serveWaiters();
+        refill();
+
+        ticks++;
+        if (ticks % QUEUE_DISPLAY_INTERVAL == 0) showPositions();
+
+        long decayTicks = Math.max(1, plugin.getConfig().getLong("rtp.pool.reject-decay", 300)) * 20L;
+        if (ticks % decayTicks == 0) {
+            for (WorldPool pool : pools.values()) pool.regions.decay();
+        }
+    }
+
+    private void drainResults() {
+        ChunkWarmer warmer = plugin.getTeleport().getWarmer();
+        Checked checked;
+
+        while ((checked = results.poll()) != null) {
+            WorldPool pool = checked.pool();
+            pool.inFlight--;
+            searching--;
+
+            searchTime.record(System.nanoTime() - checked.startedAt());
+            if (checked.safe() != null) searchesFound++; else searchesEmpty++;
+            pool.regions.record(checked.chunkX(), checked.chunkZ(), checked.safe() != null);
+
+            if (checked.safe() == null || pools.get(pool.world.getUID()) != pool) {
+                warmer.unhold(pool.world, checked.chunkX(), checked.chunkZ());
+                continue;
+            }
+            pool.ready.add(checked.safe());
+        }
+    }
+
+    private void serveWaiters() {
+        long now = System.nanoTime();
+
+        for (WorldPool pool : pools.values()) {
+            Waiter waiter;
+            while ((waiter = pool.waiters.peek()) != null) {
+                Player player = waiter.player;
+                if (waiter.cancelled) {
+                    pool.waiters.poll();
+                    continue;
+                }
+                if (!player.isOnline()) {
+                    pool.waiters.poll();
+                    cancel(player.getUniqueId());
+                    continue;
+                }
+
+                if (now - waiter.deadline >= 0) {
+                    pool.waiters.poll();
+                    waiting.remove(player.getUniqueId());
+                    timeouts++;
+                    CC.sendPrefixed(player, plugin.getMessage("rtp-failed"));
+                    Sounds.error(player);
+                    continue;
+                }
+
+                Location location = pollReady(pool);
+                if (location == null) break;
+
+                pool.waiters.poll();
+                waiting.remove(player.getUniqueId());
+                queueWait.record(now - waiter.enqueuedAt);
+                dispatch(pool, player, location);
+            }
+        }
+    }
+
+    private void showPositions() {
+        for (WorldPool pool : pools.values()) {
+            int position = 0;
+            for (Waiter waiter : pool.waiters) {
+                if (waiter.cancelled) continue;
+                showPosition(waiter, ++position);
+            }
+        }
+    }
+
+    private void showPosition(Waiter waiter, int position) {
+        CC.actionBar(waiter.player, plugin.getMessage("rtp-queue")
+                .replace("{position}", String.valueOf(position))
+                .replace("{searching}", String.valueOf(searching)));
+    }
+
+    /**
+     * Mulai pencarian baru selama masih ada slot (max-searches) dan budget
+     * load chunk tick ini. Chunk yang sudah ter-load tidak memakan budget.
+     */
+    private void refill() {
+        if (pools.isEmpty()) return;
+
+        int target = Math.max(1, plugin.getConfig().getInt("rtp.pool.size", 5));
+        int budget = Math.max(1, plugin.getConfig().getInt("rtp.pool.chunks-per-tick", 1));
+        int maxSearches = Math.max(1, plugin.getConfig().getInt("rtp.pool.max-searches", 4));
+        List<WorldPool> list = new ArrayList<>(pools.values());
+
+        // Round-robin antar world, 1 chunk per giliran; berhenti kalau
+        // satu putaran penuh tidak ada world yang butuh kandidat
+        boolean progress = true;
+        while (budget > 0 && searching < maxSearches && progress) {
+            progress = false;
+            for (int i = 0; i < list.size() && budget > 0 && searching < maxSearches; i++) {
+                WorldPool pool = list.get((roundRobin + i) % list.size());
+                if (pool.ready.size() + pool.inFlight >= target + pool.waiters.size()) continue;
+
+                int before = searching;
+                if (loadCandidate(pool)) {
+                    budget--;
+                    chunkLoads++;
+                }
+                if (searching > before) progress = true;
+            }
+        }
+        roundRobin++;
+    }
+
+    /**
+     * @return true kalau chunk harus di-load / generate (memakan budget)
+     */
+    private boolean loadCandidate(WorldPool pool) {
+        int minRange = plugin.getConfig().getInt("rtp.min-range", 1000);
+        int maxRange = plugin.getConfig().getInt("rtp.max-range", 8000);
+
+        int threshold = getRejectThreshold();
+
+        // Ambil dari cell yang belum ditolak dulu
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int x, z;
+        int tries = 0;
+        do {
+            x = randomCoord(random, minRange, maxRange) >> 4;
+            z = randomCoord(random, minRange, maxRange) >> 4;
+        } while (++tries < SAMPLE_TRIES && pool.regions.isRejected(x, z, threshold));
+
+        int chunkX = x;
+        int chunkZ = z;
+
+        long startedAt = System.nanoTime();
+        boolean load = !pool.world.isChunkLoaded(chunkX, chunkZ);
+
+        // Load (atau generate) lewat jalur main thread, lalu tahan sampai dipakai / ditolak
+        ChunkWarmer warmer = plugin.getTeleport().getWarmer();
+        warmer.hold(pool.world, chunkX, chunkZ);
+        Chunk chunk = pool.world.getChunkAt(chunkX, chunkZ);
+        ChunkSnapshot snapshot = chunk.getChunkSnapshot(true, false, false);
+
+        pool.inFlight++;
+        searching++;
+        try {
+            worker.execute(() -> results.add(
+                    new Checked(pool, chunkX, chunkZ, findSafe(pool, snapshot), startedAt)));
+        } catch (RejectedExecutionException e) {
+            pool.inFlight--;
+            searching--;
+            warmer.unhold(pool.world, chunkX, chunkZ);
+        }
+        return load;
+    }
+
+    private static int randomCoord(Random random, int min, int max) {
+        int v = random.nextInt(Math.max(1, max - min)) + min;
+        return random.nextBoolean() ? v : -v;
+    }
+
+    // ═══════════════════════════════════════
+    // Safety Check (thread worker, hanya snapshot)
+    // ═══════════════════════════════════════
+
+    private Location findSafe(WorldPool pool, ChunkSnapshot snapshot) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < COLUMNS_PER_CHUNK; i++) {
+            int x = random.nextInt(16);
+            int z = random.nextInt(16);
+
+            int y = probe.probe(snapshot, pool.env, x, z, pool.minY, pool.maxY, pool.minHeight);
+            if (y == ColumnProbe.NONE) continue;
+
+            return new Location(pool.world,
+                    (snapshot.getX() << 4) + x + 0.5, y, (snapshot.getZ() << 4) + z + 0.5);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.onous.core.rtp;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Region Rejection Cache
+ *
+ * Ingat region (cell 16x16 chunk) yang berulang kali gagal cek keamanan
+ * (laut, lautan lava, dll), supaya sampler RTP tidak load chunk di sana lagi:
+ *  - Gagal = skor cell naik, berhasil = cell dihapus dari cache
+ *  - Skor >= threshold = cell ditolak sampler
+ *  - Decay berkala: semua skor dibagi 2, cell lama-lama boleh dicoba lagi
+ *
+ * 1 instance per world, main thread saja.
+ */
+public final class RegionCache {
+
+    public static final int CELL_SHIFT = 4; // 16 chunk per sisi cell
+
+    private static final int MAX_SCORE = 64;
+
+    private final String worldName;
+    private final Map<Long, Integer> scores = new HashMap<>();
+
+    private long hits;   // sample jatuh di cell yang ditolak (load chunk dihemat)
+    private long misses; // sample diterima
+
+    public RegionCache(String worldName) {
+        this.worldName = worldName;
+    }
+
+    private static long key(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    // ═══════════════════════════════════════
+    // Sampler
+    // ═══════════════════════════════════════
+
+    /**
+     * @return true kalau chunk ini ada di cell yang sudah ditolak (dihitung sebagai hit)
+     */
+    public boolean isRejected(int chunkX, int chunkZ, int threshold) {
+        Integer score = scores.get(key(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT));
+        if (score != null && score >= threshold) {
+            hits++;
+            return true;
+        }
+        misses++;
+        return false;
+    }
+
+    /**
+     * Catat hasil cek 1 chunk kandidat.
+     */
+    public void record(int chunkX, int chunkZ, boolean safe) {
+        long key = key(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT);
+        if (safe) {
+            scores.remove(key);
+        } else {
+            scores.merge(key, 1, (a, b) -> Math.min(MAX_SCORE, a + b));
+        }
+    }
+
+    /**
+     * Bagi 2 semua skor; cell dengan skor 0 dibuang.
+     */
+    public void decay() {
+        Iterator<Map.Entry<Long, Integer>> it = scores.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Long, Integer> entry = it.next();
+            int score = entry.getValue() >> 1;
+            if (score == 0) {
+                it.remove();
+            } else {
+                entry.setValue(score);
+            }
+        }
+    }
+
+    public void clear() {
+        scores.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    // ═══════════════════════════════════════
+    // Stats
+    // ═══════════════════════════════════════
+
+    public int getRejectedCount(int threshold) {
+        int count = 0;
+        for (int score : scores.values()) {
+            if (score >= threshold) count++;
+        }
+        return count;
+    }
+
+    public int getTrackedCount() { return scores.size(); }
+    public String getWorldName() { return worldName; }
+    public long getHits() { return hits; }
+    public long getMisses() { return misses; }
+}
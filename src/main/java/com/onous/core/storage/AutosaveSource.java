@@ -0,0 +1,31 @@
+package com.onous.core.storage;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Sumber data yang ikut di-walk oleh autosave.
+ *
+ * Semua method dipanggil dari main thread. autosave(key) cukup
+ * mengambil snapshot dan menyerahkannya ke write-behind queue;
+ * penulisan ke disk terjadi di thread I/O.
+ */
+public interface AutosaveSource {
+
+    /**
+     * Nama pendek untuk laporan autosave (mis. "players").
+     */
+    String getAutosaveName();
+
+    /**
+     * Salinan key yang sedang di-cache saat ini.
+     */
+    Collection<UUID> getAutosaveKeys();
+
+    /**
+     * Simpan 1 record kalau ada perubahan.
+     *
+     * @return true kalau record di-antrikan untuk ditulis
+     */
+    boolean autosave(UUID key);
+}
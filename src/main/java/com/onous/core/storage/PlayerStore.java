@@ -0,0 +1,91 @@
+package com.onous.core.storage;
+
+import com.onous.core.data.PlayerSnapshot;
+import com.onous.core.friend.model.FriendSnapshot;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Player Store (SPI)
+ *
+ * Satu titik akses untuk semua data per-player yang dipersist:
+ *  - Player record (settings, states, last-name)  → DataManager
+ *  - Balance ekonomi (minor unit)                  → EcoManager
+ *  - Friend graph (friends + incoming request)     → FriendManager
+ *
+ * Implementasi:
+ *  - {@link YamlPlayerStore}   : layout lama (players/, economy.yml, friends/)
+ *  - {@link SqlitePlayerStore} : 1 file database, query ter-index
+ *
+ * Thread-safety:
+ *  Semua method boleh dipanggil dari thread I/O (write-behind) maupun
+ *  main thread. Implementasi wajib menjaga sinkronisasinya sendiri.
+ */
+public interface PlayerStore {
+
+    /**
+     * Nama backend (untuk log), mis. "yaml" / "sqlite".
+     */
+    String getName();
+
+    // ═══════════════════════════════════════
+    // Player Records
+    // ═══════════════════════════════════════
+
+    /**
+     * @return snapshot tersimpan, atau null kalau player belum pernah disimpan
+     */
+    PlayerSnapshot loadPlayer(UUID uuid) throws Exception;
+
+    void savePlayer(PlayerSnapshot snapshot) throws Exception;
+
+    /**
+     * Simpan banyak player sekaligus (backend SQL → 1 batch / transaksi).
+     */
+    default void savePlayers(Collection<PlayerSnapshot> snapshots) throws Exception {
+        for (PlayerSnapshot snapshot : snapshots) {
+            savePlayer(snapshot);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Economy
+    // ═══════════════════════════════════════
+
+    /**
+     * Semua balance, dalam minor unit (lihat {@code EcoManager.SCALE}).
+     */
+    Map<UUID, Long> loadBalances() throws Exception;
+
+    /**
+     * Upsert balance (minor unit) untuk akun-akun yang diberikan (bukan replace semua).
+     */
+    void saveBalances(Map<UUID, Long> balances) throws Exception;
+
+    /**
+     * Maksimal akun per {@link #saveBalances(Map)}. Backend yang menulis ulang
+     * seluruh file per panggilan sebaiknya menerima semua sekaligus.
+     */
+    default int getBalanceBatchSize() {
+        return WriteBehindQueue.DEFAULT_MAX_BATCH;
+    }
+
+    // ═══════════════════════════════════════
+    // Friends
+    // ═══════════════════════════════════════
+
+    /**
+     * @return snapshot tersimpan, atau null kalau belum ada
+     */
+    FriendSnapshot loadFriends(UUID owner) throws Exception;
+
+    void saveFriends(FriendSnapshot snapshot) throws Exception;
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    void close();
+}
@@ -0,0 +1,334 @@
+package com.onous.core.storage;
+
+import com.onous.core.OnousCore;
+import com.onous.core.data.PlayerSnapshot;
+import com.onous.core.economy.EcoManager;
+import com.onous.core.friend.model.FriendSnapshot;
+
+import java.io.File;
+import java.sql.*;
+import java.util.*;
+
+/**
+ * SQLite Player Store
+ *
+ * Semua data player dalam 1 file database (default: data.db).
+ * Driver SQLite sudah dibundel oleh server Spigot, jadi tidak perlu di-shade.
+ *
+ *  - Prepared statement untuk semua query
+ *  - Upsert batch dalam 1 transaksi (savePlayers / saveBalances)
+ *  - Balance disimpan sebagai INTEGER minor unit (tabel accounts)
+ *
+ * 1 koneksi dipakai bersama; semua akses di-synchronize.
+ */
+public class SqlitePlayerStore implements PlayerStore {
+
+    private static final String UPSERT_PLAYER =
+            "INSERT INTO players (uuid, last_name, tpa, msg, sound, random_tpa, privacy, auto_tpa, auto_tpahere, " +
+            "auto_friend_tp, friend_join_notify, fly, god) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET last_name = excluded.last_name, tpa = excluded.tpa, msg = excluded.msg, " +
+            "sound = excluded.sound, random_tpa = excluded.random_tpa, privacy = excluded.privacy, " +
+            "auto_tpa = excluded.auto_tpa, auto_tpahere = excluded.auto_tpahere, " +
+            "auto_friend_tp = excluded.auto_friend_tp, friend_join_notify = excluded.friend_join_notify, " +
+            "fly = excluded.fly, god = excluded.god";
+
+    private static final String UPSERT_BALANCE =
+            "INSERT INTO accounts (uuid, balance) VALUES (?, ?) " +
+            "ON CONFLICT(uuid) DO UPDATE SET balance = excluded.balance";
+
+    private final Connection connection;
+
+    public SqlitePlayerStore(OnousCore plugin, String fileName) throws SQLException {
+        File file = new File(plugin.getDataFolder(), fileName);
+        if (!plugin.getDataFolder().exists()) {
+            plugin.getDataFolder().mkdirs();
+        }
+
+        try {
+            Class.forName("org.sqlite.JDBC");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("SQLite driver not available", e);
+        }
+
+        this.connection = DriverManager.getConnection("jdbc:sqlite:" + file.getAbsolutePath());
+        createTables();
+    }
+
+    private void createTables() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("PRAGMA journal_mode=WAL");
+            st.execute("PRAGMA synchronous=NORMAL");
+
+            st.execute("CREATE TABLE IF NOT EXISTS players (" +
+                    "uuid TEXT PRIMARY KEY, " +
+                    "last_name TEXT, " +
+                    "tpa INTEGER NOT NULL, " +
+                    "msg INTEGER NOT NULL, " +
+                    "sound INTEGER NOT NULL, " +
+                    "random_tpa INTEGER NOT NULL, " +
+                    "privacy INTEGER NOT NULL, " +
+                    "auto_tpa INTEGER NOT NULL, " +
+                    "auto_tpahere INTEGER NOT NULL, " +
+                    "auto_friend_tp INTEGER NOT NULL, " +
+                    "friend_join_notify INTEGER NOT NULL, " +
+                    "fly INTEGER NOT NULL, " +
+                    "god INTEGER NOT NULL)");
+
+            // balance dalam minor unit (EcoManager.SCALE)
+            st.execute("CREATE TABLE IF NOT EXISTS accounts (" +
+                    "uuid TEXT PRIMARY KEY, " +
+                    "balance INTEGER NOT NULL)");
+
+            // type: 0 = friend, 1 = incoming request
+            st.execute("CREATE TABLE IF NOT EXISTS friends (" +
+                    "owner TEXT NOT NULL, " +
+                    "other TEXT NOT NULL, " +
+                    "type INTEGER NOT NULL, " +
+                    "PRIMARY KEY (owner, other, type))");
+        }
+
+        migrateLegacyBalances();
+    }
+
+    /**
+     * Database lama punya 2 tempat balance:
+     *  - balances (REAL, coin)      → dipindah ke accounts (minor unit)
+     *  - players.balance (INTEGER)  → tidak pernah jadi sumber utama, dibuang
+     */
+    private void migrateLegacyBalances() throws SQLException {
+        if (hasTable("balances")) {
+            inTransaction(() -> {
+                try (Statement st = connection.createStatement()) {
+                    st.executeUpdate("INSERT OR IGNORE INTO accounts (uuid, balance) " +
+                            "SELECT uuid, CAST(ROUND(balance * " + EcoManager.SCALE + ") AS INTEGER) FROM balances");
+                    st.execute("DROP TABLE balances");
+                }
+            });
+        }
+
+        if (hasColumn("players", "balance")) {
+            try (Statement st = connection.createStatement()) {
+                st.execute("DROP INDEX IF EXISTS idx_players_balance");
+                st.execute("ALTER TABLE players DROP COLUMN balance");
+            }
+        }
+    }
+
+    private boolean hasTable(String table) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private boolean hasColumn(String table, String column) throws SQLException {
+        try (Statement st = connection.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA table_info(" + table + ")")) {
+            while (rs.next()) {
+                if (column.equalsIgnoreCase(rs.getString("name"))) return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String getName() {
+        return "sqlite";
+    }
+
+    // ═══════════════════════════════════════
+    // Player Records
+    // ═══════════════════════════════════════
+
+    @Override
+    public synchronized PlayerSnapshot loadPlayer(UUID uuid) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT * FROM players WHERE uuid = ?")) {
+            ps.setString(1, uuid.toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) return null;
+
+                return new PlayerSnapshot(
+                        uuid,
+                        rs.getString("last_name"),
+                        rs.getBoolean("tpa"),
+                        rs.getBoolean("msg"),
+                        rs.getBoolean("sound"),
+                        rs.getBoolean("random_tpa"),
+                        rs.getBoolean("privacy"),
+                        rs.getBoolean("auto_tpa"),
+                        rs.getBoolean("auto_tpahere"),
+                        rs.getBoolean("auto_friend_tp"),
+                        rs.getBoolean("friend_join_notify"),
+                        rs.getBoolean("fly"),
+                        rs.getBoolean("god")
+                );
+            }
+        }
+    }
+
+    @Override
+    public void savePlayer(PlayerSnapshot snapshot) throws SQLException {
+        savePlayers(List.of(snapshot));
+    }
+
+    @Override
+    public synchronized void savePlayers(Collection<PlayerSnapshot> snapshots) throws SQLException {
+        if (snapshots.isEmpty()) return;
+
+        inTransaction(() -> {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_PLAYER)) {
+                for (PlayerSnapshot d : snapshots) {
+                    ps.setString(1, d.uuid().toString());
+                    ps.setString(2, d.lastName());
+                    ps.setBoolean(3, d.tpaEnabled());
+                    ps.setBoolean(4, d.msgEnabled());
+                    ps.setBoolean(5, d.soundEnabled());
+                    ps.setBoolean(6, d.randomTpaEnabled());
+                    ps.setBoolean(7, d.privacyMode());
+                    ps.setBoolean(8, d.autoTpa());
+                    ps.setBoolean(9, d.autoTpaHere());
+                    ps.setBoolean(10, d.autoFriendTp());
+                    ps.setBoolean(11, d.friendJoinNotify());
+                    ps.setBoolean(12, d.flyEnabled());
+                    ps.setBoolean(13, d.godEnabled());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    // ═══════════════════════════════════════
+    // Economy
+    // ═══════════════════════════════════════
+
+    @Override
+    public synchronized Map<UUID, Long> loadBalances() throws SQLException {
+        Map<UUID, Long> result = new HashMap<>();
+
+        try (PreparedStatement ps = connection.prepareStatement("SELECT uuid, balance FROM accounts");
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                UUID uuid = parseUuid(rs.getString(1));
+                if (uuid != null) result.put(uuid, rs.getLong(2));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void saveBalances(Map<UUID, Long> balances) throws SQLException {
+        if (balances.isEmpty()) return;
+
+        inTransaction(() -> {
+            try (PreparedStatement ps = connection.prepareStatement(UPSERT_BALANCE)) {
+                for (Map.Entry<UUID, Long> entry : balances.entrySet()) {
+                    ps.setString(1, entry.getKey().toString());
+                    ps.setLong(2, entry.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    // ═══════════════════════════════════════
+    // Friends
+    // ═══════════════════════════════════════
+
+    @Override
+    public synchronized FriendSnapshot loadFriends(UUID owner) throws SQLException {
+        Set<UUID> friends = new HashSet<>();
+        Set<UUID> requests = new HashSet<>();
+        boolean found = false;
+
+        try (PreparedStatement ps = connection.prepareStatement("SELECT other, type FROM friends WHERE owner = ?")) {
+            ps.setString(1, owner.toString());
+
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    found = true;
+                    UUID other = parseUuid(rs.getString(1));
+                    if (other == null) continue;
+
+                    if (rs.getInt(2) == 0) friends.add(other);
+                    else requests.add(other);
+                }
+            }
+        }
+        return found ? new FriendSnapshot(owner, friends, requests) : null;
+    }
+
+    @Override
+    public synchronized void saveFriends(FriendSnapshot snapshot) throws SQLException {
+        inTransaction(() -> {
+            try (PreparedStatement delete = connection.prepareStatement("DELETE FROM friends WHERE owner = ?")) {
+                delete.setString(1, snapshot.owner().toString());
+                delete.executeUpdate();
+            }
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO friends (owner, other, type) VALUES (?, ?, ?)")) {
+                String owner = snapshot.owner().toString();
+                for (UUID f : snapshot.friends()) {
+                    insert.setString(1, owner);
+                    insert.setString(2, f.toString());
+                    insert.setInt(3, 0);
+                    insert.addBatch();
+                }
+                for (UUID r : snapshot.requests()) {
+                    insert.setString(1, owner);
+                    insert.setString(2, r.toString());
+                    insert.setInt(3, 1);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+        });
+    }
+
+    // ═══════════════════════════════════════
+    // Helpers
+    // ═══════════════════════════════════════
+
+    private void inTransaction(SqlAction action) throws SQLException {
+        connection.setAutoCommit(false);
+        try {
+            action.run();
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+
+    private UUID parseUuid(String raw) {
+        try {
+            return UUID.fromString(raw);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface SqlAction {
+        void run() throws SQLException;
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    @Override
+    public synchronized void close() {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {}
+    }
+}
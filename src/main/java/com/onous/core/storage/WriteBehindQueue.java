@@ -0,0 +1,280 @@
+package com.onous.core.storage;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Write-Behind Queue
+ *
+ *  - Main thread cukup submit(key, snapshot), tidak ada disk I/O.
+ *  - 1 thread I/O khusus menulis snapshot ke storage, per batch.
+ *  - Submit berulang untuk key yang sama di-coalesce:
+ *      hanya snapshot TERAKHIR yang ditulis.
+ *  - flush() = barrier, tunggu semua snapshot yang antri tertulis
+ *      (dipakai di onDisable).
+ *  - Batch yang gagal ditulis TIDAK dibuang (dirty flag caller sudah
+ *      di-clear): tetap di antrian dan dicoba lagi dengan backoff.
+ *
+ * @param <K> key (biasanya UUID player)
+ * @param <V> snapshot immutable yang akan ditulis
+ */
+public class WriteBehindQueue<K, V> {
+
+    public static final int DEFAULT_MAX_BATCH = 500;
+
+    private static final long RETRY_DELAY_MS = 1_000L;
+    private static final long MAX_RETRY_DELAY_MS = 30_000L;
+
+    private final String name;
+    private final Logger logger;
+    private final Writer<K, V> writer;
+    private final int maxBatch;
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Snapshot terbaru per key yang belum selesai ditulis.
+     * Entry baru dihapus SETELAH write selesai, jadi getPending()
+     * tetap melihat data yang sedang ditulis.
+     */
+    private final Map<K, V> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final AtomicLong failedBatches = new AtomicLong();
+    private int retries; // gagal berturut-turut, thread I/O saja
+
+    public WriteBehindQueue(String name, Logger logger, Writer<K, V> writer) {
+        this(name, logger, DEFAULT_MAX_BATCH, writer);
+    }
+
+    /**
+     * @param maxBatch maksimal record per write (Integer.MAX_VALUE = semua yang antri sekaligus)
+     */
+    public WriteBehindQueue(String name, Logger logger, int maxBatch, Writer<K, V> writer) {
+        this.name = name;
+        this.logger = logger;
+        this.writer = writer;
+        this.maxBatch = Math.max(1, maxBatch);
+        this.executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "OnousCore-IO-" + name);
+            t.setDaemon(true);
+            return t;
+        });
+        // Retry yang masih menunggu backoff tidak menahan shutdown (flush sudah mencoba)
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    // ═══════════════════════════════════════
+    // Submit
+    // ═══════════════════════════════════════
+
+    /**
+     * Antrikan snapshot untuk ditulis.
+     * Kalau key sudah antri, snapshot lama diganti (coalesce).
+     */
+    public void submit(K key, V snapshot) {
+        if (key == null || snapshot == null) return;
+
+        pending.put(key, snapshot);
+        schedule();
+    }
+
+    /**
+     * Antrikan banyak snapshot, lalu jadwalkan 1x: thread I/O tidak mulai
+     * menulis sebelum semuanya masuk antrian.
+     */
+    public void submitAll(Map<K, V> snapshots) {
+        if (snapshots.isEmpty()) return;
+
+        pending.putAll(snapshots);
+        schedule();
+    }
+
+    /**
+     * Snapshot yang masih antri / sedang ditulis, atau null.
+     * Dipakai saat load supaya tidak membaca data yang sudah basi.
+     */
+    public V getPending(K key) {
+        return pending.get(key);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    // ═══════════════════════════════════════
+    // Drain (I/O thread)
+    // ═══════════════════════════════════════
+
+    private void schedule() {
+        if (!scheduled.compareAndSet(false, true)) return;
+
+        try {
+            executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            // Sudah shutdown → tulis langsung di thread pemanggil
+            drain();
+        }
+    }
+
+    private void drain() {
+        scheduled.set(false);
+
+        Map<K, V> batch = new LinkedHashMap<>();
+        for (Map.Entry<K, V> entry : pending.entrySet()) {
+            batch.put(entry.getKey(), entry.getValue());
+            if (batch.size() >= maxBatch) break;
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            writer.write(batch);
+            retries = 0;
+        } catch (Exception e) {
+            failedBatches.incrementAndGet();
+            logger.log(Level.WARNING, "[" + name + "] Failed to write " + batch.size() + " record(s), will retry", e);
+
+            // Batch tetap di pending → dicoba lagi
+            scheduleRetry();
+            return;
+        }
+
+        // Hanya hapus kalau tidak ada snapshot baru selama menulis
+        for (Map.Entry<K, V> entry : batch.entrySet()) {
+            pending.remove(entry.getKey(), entry.getValue());
+        }
+
+        if (!pending.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private void scheduleRetry() {
+        long delay = Math.min(MAX_RETRY_DELAY_MS, RETRY_DELAY_MS << Math.min(retries, 5));
+        retries++;
+
+        // scheduled tetap true selama backoff → submit baru tidak memicu drain lebih awal
+        if (!scheduled.compareAndSet(false, true)) return;
+        try {
+            executor.schedule(this::drain, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            scheduled.set(false);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Flush / Shutdown
+    // ═══════════════════════════════════════
+
+    /**
+     * Barrier: tunggu semua write yang sudah antri selesai.
+     *
+     * @param timeoutMillis batas waktu tunggu
+     * @return true kalau semua selesai sebelum timeout
+     */
+    public boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (!pending.isEmpty()) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) return false;
+
+            try {
+                // Drain langsung di thread I/O (tidak menunggu backoff retry);
+                // selesai setelah semua drain yang sudah antri selesai.
+                long failures = failedBatches.get();
+                Future<?> barrier = executor.submit(this::drain);
+                barrier.get(remaining, TimeUnit.MILLISECONDS);
+
+                // Storage masih error → jeda sebentar sebelum mencoba lagi
+                if (failedBatches.get() != failures) {
+                    Thread.sleep(Math.min(250L, Math.max(0L, deadline - System.currentTimeMillis())));
+                }
+            } catch (RejectedExecutionException e) {
+                // Executor sudah mati → tulis sisa antrian di thread ini
+                drain();
+            } catch (Exception e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Jalankan callback di thread I/O setelah semua snapshot yang antri
+     * SAAT INI selesai ditulis (atau diganti snapshot yang lebih baru).
+     * Tidak memblok caller.
+     *
+     * @param callback menerima true kalau tidak ada batch yang gagal selama menunggu
+     */
+    public void afterPending(Consumer<Boolean> callback) {
+        Map<K, V> marker = new HashMap<>(pending);
+        long failuresAtStart = failedBatches.get();
+
+        Runnable check = new Runnable() {
+            @Override
+            public void run() {
+                // Ada batch gagal → snapshot belum pasti tersimpan, jangan tunggu retry
+                if (failedBatches.get() != failuresAtStart) {
+                    callback.accept(false);
+                    return;
+                }
+                for (Map.Entry<K, V> entry : marker.entrySet()) {
+                    if (pending.get(entry.getKey()) == entry.getValue()) {
+                        // Masih antri → drain berikutnya sudah di depan task ini
+                        executor.execute(this);
+                        return;
+                    }
+                }
+                callback.accept(failedBatches.get() == failuresAtStart);
+            }
+        };
+
+        try {
+            executor.execute(check);
+        } catch (RejectedExecutionException e) {
+            callback.accept(false);
+        }
+    }
+
+    /**
+     * Flush lalu matikan thread I/O. Dipanggil sekali saat plugin disable.
+     */
+    public void shutdown(long timeoutMillis) {
+        if (!flush(timeoutMillis)) {
+            logger.warning("[" + name + "] Flush timed out, " + pending.size() + " writes still pending.");
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Writer
+    // ═══════════════════════════════════════
+
+    @FunctionalInterface
+    public interface Writer<K, V> {
+        /**
+         * Tulis 1 batch snapshot (maksimal maxBatch entry, lihat constructor).
+         * Exception = batch dicoba lagi nanti.
+         */
+        void write(Map<K, V> batch) throws Exception;
+    }
+}
@@ -0,0 +1,202 @@
+package com.onous.core.storage;
+
+import com.onous.core.OnousCore;
+import com.onous.core.data.PlayerSnapshot;
+import com.onous.core.economy.EcoManager;
+import com.onous.core.friend.model.FriendSnapshot;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * YAML Player Store
+ * Layout lama, 1 file per UUID:
+ *  - players/<uuid>.yml
+ *  - friends/<uuid>.yml
+ *  - economy.yml (semua balance, ditulis dalam coin supaya tetap mudah dibaca;
+ *    dikonversi ke / dari minor unit saat load / save)
+ */
+public class YamlPlayerStore implements PlayerStore {
+
+    private final File playersFolder;
+    private final File friendFolder;
+    private final File economyFile;
+
+    // economy.yml dipakai bersama → akses di-lock
+    private final Object economyLock = new Object();
+    private YamlConfiguration economy;
+
+    public YamlPlayerStore(OnousCore plugin) {
+        this.playersFolder = new File(plugin.getDataFolder(), "players");
+        this.friendFolder = new File(plugin.getDataFolder(), "friends");
+        this.economyFile = new File(plugin.getDataFolder(), "economy.yml");
+
+        if (!playersFolder.exists()) playersFolder.mkdirs();
+        if (!friendFolder.exists()) friendFolder.mkdirs();
+    }
+
+    @Override
+    public String getName() {
+        return "yaml";
+    }
+
+    // ═══════════════════════════════════════
+    // Player Records
+    // ═══════════════════════════════════════
+
+    @Override
+    public PlayerSnapshot loadPlayer(UUID uuid) {
+        File file = new File(playersFolder, uuid + ".yml");
+        if (!file.exists()) return null;
+
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+
+        return new PlayerSnapshot(
+                uuid,
+                cfg.getString("info.last-name"),
+                cfg.getBoolean("settings.tpa", true),
+                cfg.getBoolean("settings.msg", true),
+                cfg.getBoolean("settings.sound", true),
+                cfg.getBoolean("settings.random-tpa", true),
+                cfg.getBoolean("settings.privacy", false),
+                cfg.getBoolean("settings.auto-tpa", false),
+                cfg.getBoolean("settings.auto-tpahere", false),
+                cfg.getBoolean("settings.auto-friend-tp", false),
+                cfg.getBoolean("settings.friend-join-notify", true),
+                cfg.getBoolean("states.fly", false),
+                cfg.getBoolean("states.god", false)
+        );
+    }
+
+    @Override
+    public void savePlayer(PlayerSnapshot data) throws IOException {
+        File file = new File(playersFolder, data.uuid() + ".yml");
+        YamlConfiguration cfg = new YamlConfiguration();
+
+        cfg.set("settings.tpa", data.tpaEnabled());
+        cfg.set("settings.msg", data.msgEnabled());
+        cfg.set("settings.sound", data.soundEnabled());
+        cfg.set("settings.random-tpa", data.randomTpaEnabled());
+        cfg.set("settings.privacy", data.privacyMode());
+
+        cfg.set("settings.auto-tpa", data.autoTpa());
+        cfg.set("settings.auto-tpahere", data.autoTpaHere());
+        cfg.set("settings.auto-friend-tp", data.autoFriendTp());
+        cfg.set("settings.friend-join-notify", data.friendJoinNotify());
+
+        cfg.set("states.fly", data.flyEnabled());
+        cfg.set("states.god", data.godEnabled());
+
+        cfg.set("info.last-name", data.lastName());
+
+        cfg.save(file);
+    }
+
+    // ═══════════════════════════════════════
+    // Economy
+    // ═══════════════════════════════════════
+
+    private YamlConfiguration economy() throws IOException {
+        if (economy == null) {
+            if (!economyFile.exists()) {
+                economyFile.createNewFile();
+            }
+            economy = YamlConfiguration.loadConfiguration(economyFile);
+        }
+        return economy;
+    }
+
+    @Override
+    public Map<UUID, Long> loadBalances() throws IOException {
+        Map<UUID, Long> result = new HashMap<>();
+
+        synchronized (economyLock) {
+            YamlConfiguration cfg = economy();
+            ConfigurationSection section = cfg.getConfigurationSection("balances");
+            if (section == null) return result;
+
+            for (String key : section.getKeys(false)) {
+                try {
+                    result.put(UUID.fromString(key), EcoManager.toMinor(section.getDouble(key)));
+                } catch (IllegalArgumentException ignored) {}
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Tiap save menulis ulang seluruh economy.yml → 1 batch tanpa batas.
+     */
+    @Override
+    public int getBalanceBatchSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void saveBalances(Map<UUID, Long> balances) throws IOException {
+        if (balances.isEmpty()) return;
+
+        synchronized (economyLock) {
+            YamlConfiguration cfg = economy();
+            for (Map.Entry<UUID, Long> entry : balances.entrySet()) {
+                cfg.set("balances." + entry.getKey(), EcoManager.toMajor(entry.getValue()));
+            }
+            cfg.save(economyFile);
+        }
+    }
+
+    // ═══════════════════════════════════════
+    // Friends
+    // ═══════════════════════════════════════
+
+    @Override
+    public FriendSnapshot loadFriends(UUID owner) {
+        File file = new File(friendFolder, owner + ".yml");
+        if (!file.exists()) return null;
+
+        YamlConfiguration cfg = YamlConfiguration.loadConfiguration(file);
+        return new FriendSnapshot(owner, parseUuids(cfg.getStringList("friends")), parseUuids(cfg.getStringList("requests")));
+    }
+
+    @Override
+    public void saveFriends(FriendSnapshot data) throws IOException {
+        File file = new File(friendFolder, data.owner() + ".yml");
+        YamlConfiguration cfg = new YamlConfiguration();
+
+        List<String> friendList = new ArrayList<>();
+        for (UUID f : data.friends()) {
+            friendList.add(f.toString());
+        }
+        cfg.set("friends", friendList);
+
+        List<String> reqList = new ArrayList<>();
+        for (UUID r : data.requests()) {
+            reqList.add(r.toString());
+        }
+        cfg.set("requests", reqList);
+
+        cfg.save(file);
+    }
+
+    private Set<UUID> parseUuids(List<String> raw) {
+        Set<UUID> result = new HashSet<>();
+        for (String s : raw) {
+            try {
+                result.add(UUID.fromString(s));
+            } catch (IllegalArgumentException ignored) {}
+        }
+        return result;
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    @Override
+    public void close() {
+        // Tidak ada resource yang perlu ditutup
+    }
+}
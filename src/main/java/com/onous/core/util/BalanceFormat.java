@@ -0,0 +1,186 @@
+package com.onous.core.util;
+
+/**
+ * Balance Formatter
+ *
+ * Pengganti DecimalFormat / String.format untuk angka balance.
+ * Placeholder dipanggil dari thread async (scoreboard, tab) untuk setiap
+ * player beberapa kali per detik, jadi:
+ *  - Thread-safe: tidak ada state bersama, buffer char[] per thread
+ *  - Digit ditulis manual dari kanan ke kiri, tanpa objek formatter
+ *  - Satu-satunya alokasi per panggilan adalah String hasilnya
+ *
+ * Pembulatan desimal HALF_UP (sama seperti %.1f).
+ */
+public final class BalanceFormat {
+
+    private static final long[] UNITS = {1_000L, 1_000_000L, 1_000_000_000L, 1_000_000_000_000L};
+    private static final char[] SUFFIXES = {'k', 'M', 'B', 'T'};
+
+    // 19 digit + 6 koma + tanda minus + ".d" + suffix, dibulatkan
+    private static final int NUMBER_CAPACITY = 32;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[NUMBER_CAPACITY + 16]);
+
+    private BalanceFormat() {}
+
+    // ═══════════════════════════════════════
+    // Public API
+    // ═══════════════════════════════════════
+
+    /**
+     * Short format: 950, 10.5k, 1.2M, 3B, 1T (desimal ".0" dibuang).
+     */
+    public static String compact(long amount) {
+        return compact(null, amount);
+    }
+
+    /**
+     * Short format dengan simbol di depan: "⛃ 10.5k".
+     */
+    public static String compact(String symbol, long amount) {
+        char[] buf = buffer(symbol);
+        int pos = buf.length;
+
+        // Di bawah 1000 (atau negatif) → angka apa adanya
+        if (amount < UNITS[0]) {
+            pos = writeDigits(buf, pos, amount);
+            return finish(buf, pos, symbol);
+        }
+
+        int unit = unitIndex(amount, SUFFIXES.length - 1);
+        pos = writeScaled(buf, pos, amount, UNITS[unit], SUFFIXES[unit], false);
+        return finish(buf, pos, symbol);
+    }
+
+    /**
+     * Dipisah koma per 3 digit: 10,000.
+     */
+    public static String grouped(long amount) {
+        return grouped(null, amount);
+    }
+
+    /**
+     * Dipisah koma dengan simbol di depan: "⛃ 10,000".
+     */
+    public static String grouped(String symbol, long amount) {
+        char[] buf = buffer(symbol);
+        int pos = writeGrouped(buf, buf.length, amount);
+        return finish(buf, pos, symbol);
+    }
+
+    /**
+     * Format gaya Vault untuk nilai dalam minor unit: 950, 1.0k, 2.5M, 1200.0B
+     * (selalu 1 desimal di atas 1000, suffix maksimal B).
+     *
+     * @param scale jumlah minor unit per 1 coin
+     */
+    public static String compactFixed(long minor, long scale) {
+        char[] buf = buffer(null);
+        int pos = buf.length;
+
+        if (minor < UNITS[0] * scale) {
+            // Bulatkan ke coin terdekat (HALF_UP, menjauhi nol)
+            long coins = minor / scale;
+            long rem = minor % scale;
+            if (rem >= scale - scale / 2) coins++;
+            else if (-rem >= scale - scale / 2) coins--;
+            pos = writeDigits(buf, pos, coins);
+            return finish(buf, pos, null);
+        }
+
+        int unit = unitIndex(minor / scale, 2);
+        pos = writeScaled(buf, pos, minor, UNITS[unit] * scale, SUFFIXES[unit], true);
+        return finish(buf, pos, null);
+    }
+
+    // ═══════════════════════════════════════
+    // Digit Emission (kanan → kiri)
+    // ═══════════════════════════════════════
+
+    private static int unitIndex(long value, int max) {
+        int unit = 0;
+        while (unit < max && value >= UNITS[unit + 1]) unit++;
+        return unit;
+    }
+
+    /**
+     * Tulis value / unit dengan 1 desimal + suffix. value wajib &gt;= unit.
+     */
+    private static int writeScaled(char[] buf, int pos, long value, long unit, char suffix, boolean keepZero) {
+        long whole = value / unit;
+        long rem = value % unit;
+
+        // rem < unit <= 1e14, jadi rem * 10 tidak overflow
+        long tenth = (rem * 10 + unit / 2) / unit;
+        if (tenth == 10) {
+            whole++;
+            tenth = 0;
+        }
+
+        buf[--pos] = suffix;
+        if (tenth != 0 || keepZero) {
+            buf[--pos] = (char) ('0' + tenth);
+            buf[--pos] = '.';
+        }
+        return writeDigits(buf, pos, whole);
+    }
+
+    /**
+     * Dikerjakan dalam nilai negatif supaya Long.MIN_VALUE juga aman
+     * (trik yang sama dengan Long.toString).
+     */
+    private static int writeDigits(char[] buf, int pos, long value) {
+        boolean negative = value < 0;
+        long v = negative ? value : -value;
+
+        do {
+            long q = v / 10;
+            buf[--pos] = (char) ('0' + (q * 10 - v));
+            v = q;
+        } while (v != 0);
+
+        if (negative) buf[--pos] = '-';
+        return pos;
+    }
+
+    private static int writeGrouped(char[] buf, int pos, long value) {
+        boolean negative = value < 0;
+        long v = negative ? value : -value;
+        int digits = 0;
+
+        do {
+            if (digits > 0 && digits % 3 == 0) buf[--pos] = ',';
+            long q = v / 10;
+            buf[--pos] = (char) ('0' + (q * 10 - v));
+            v = q;
+            digits++;
+        } while (v != 0);
+
+        if (negative) buf[--pos] = '-';
+        return pos;
+    }
+
+    // ═══════════════════════════════════════
+    // Buffer
+    // ═══════════════════════════════════════
+
+    private static char[] buffer(String symbol) {
+        char[] buf = BUFFER.get();
+        int needed = NUMBER_CAPACITY + (symbol != null ? symbol.length() + 1 : 0);
+        if (buf.length < needed) {
+            buf = new char[needed];
+            BUFFER.set(buf);
+        }
+        return buf;
+    }
+
+    private static String finish(char[] buf, int pos, String symbol) {
+        if (symbol != null) {
+            buf[--pos] = ' ';
+            pos -= symbol.length();
+            symbol.getChars(0, symbol.length(), buf, pos);
+        }
+        return new String(buf, pos, buf.length - pos);
+    }
+}
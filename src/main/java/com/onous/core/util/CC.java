@@ -3,6 +3,7 @@ package com.onous.core.util;
 import com.onous.core.OnousCore;  // ← TAMBAH IMPORT INI
 import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -105,6 +106,20 @@ public final class CC {
         }
     }
 
+    /**
+     * Action bar dari komponen yang sudah jadi (lihat {@link #components(String)}),
+     * untuk pesan yang sama dikirim ke banyak player / berulang kali.
+     */
+    public static void actionBar(Player player, BaseComponent[] components) {
+        if (player != null && components != null) {
+            player.spigot().sendMessage(ChatMessageType.ACTION_BAR, components);
+        }
+    }
+
+    public static BaseComponent[] components(String message) {
+        return TextComponent.fromLegacyText(translate(message));
+    }
+
     // ═══════════════════════════════════════
     // Utility Methods
     // ═══════════════════════════════════════
@@ -153,6 +168,6 @@ public final class CC {
     }
 
     public static String formatNumber(long number) {
-        return String.format("%,d", number);
+        return BalanceFormat.grouped(number);
     }
 }
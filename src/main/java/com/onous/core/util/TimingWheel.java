@@ -0,0 +1,188 @@
+package com.onous.core.util;
+
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Hashed Timing Wheel
+ *
+ * Timer ringan untuk banyak timeout pendek (expire TPA, sweep cooldown, dll)
+ * tanpa 1 task scheduler per timeout:
+ *  - 1 task repeating menggerakkan jarum 1 slot per tick
+ *  - schedule O(1): timer masuk ke slot (now + delay) % size,
+ *      delay lebih panjang dari 1 putaran dicatat sebagai sisa putaran
+ *  - cancel O(1): timer di-unlink dari list slot-nya
+ *
+ * Hanya untuk main thread (schedule, cancel, dan task semuanya di main thread).
+ */
+public class TimingWheel {
+
+    private static final int WHEEL_SIZE = 512; // harus pangkat 2
+    private static final int MASK = WHEEL_SIZE - 1;
+
+    private final Plugin plugin;
+    private final Timer[] slots = new Timer[WHEEL_SIZE]; // head list per slot
+    private final List<Timer> due = new ArrayList<>();
+
+    private BukkitTask task;
+    private long tick;
+    private int pending;
+
+    public TimingWheel(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    // ═══════════════════════════════════════
+    // Lifecycle
+    // ═══════════════════════════════════════
+
+    public void start() {
+        stop();
+        task = plugin.getServer().getScheduler().runTaskTimer(plugin, this::advance, 1L, 1L);
+    }
+
+    /**
+     * Hentikan jarum. Timer yang masih pending dibuang tanpa dijalankan.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            for (Timer timer = slots[i]; timer != null; timer = timer.next) {
+                timer.slot = -1;
+            }
+            slots[i] = null;
+        }
+        pending = 0;
+    }
+
+    // ═══════════════════════════════════════
+    // Schedule
+    // ═══════════════════════════════════════
+
+    /**
+     * Jalankan {@code action} setelah {@code delayTicks} tick (minimal 1).
+     */
+    public Timer schedule(long delayTicks, Runnable action) {
+        long delay = Math.max(1L, delayTicks);
+        long deadline = tick + delay;
+
+        Timer timer = new Timer(action);
+        timer.rounds = (delay - 1) / WHEEL_SIZE;
+        link(timer, (int) (deadline & MASK));
+        return timer;
+    }
+
+    public Timer scheduleSeconds(long seconds, Runnable action) {
+        return schedule(seconds * 20L, action);
+    }
+
+    /**
+     * @return jumlah timer yang belum jalan / belum di-cancel
+     */
+    public int getPendingCount() {
+        return pending;
+    }
+
+    // ═══════════════════════════════════════
+    // Wheel
+    // ═══════════════════════════════════════
+
+    private void advance() {
+        tick++;
+        int slot = (int) (tick & MASK);
+
+        // Fase 1: lepas timer yang jatuh tempo dari slot.
+        // Task tidak dijalankan di sini, supaya schedule / cancel dari dalam
+        // task tidak mengubah list yang sedang di-iterasi.
+        Timer timer = slots[slot];
+        while (timer != null) {
+            Timer next = timer.next;
+            if (timer.rounds > 0) {
+                timer.rounds--;
+            } else {
+                unlink(timer);
+                timer.due = true;
+                due.add(timer);
+            }
+            timer = next;
+        }
+
+        // Fase 2: jalankan (timer yang di-cancel task sebelumnya dilewati)
+        for (int i = 0; i < due.size(); i++) {
+            Timer expired = due.get(i);
+            if (!expired.due) continue;
+            expired.due = false;
+
+            try {
+                expired.action.run();
+            } catch (Throwable t) {
+                plugin.getLogger().log(Level.WARNING, "Timer task threw an exception", t);
+            }
+        }
+        due.clear();
+    }
+
+    private void link(Timer timer, int slot) {
+        timer.slot = slot;
+        timer.prev = null;
+        timer.next = slots[slot];
+        if (timer.next != null) timer.next.prev = timer;
+        slots[slot] = timer;
+        pending++;
+    }
+
+    private void unlink(Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            slots[timer.slot] = timer.next;
+        }
+        if (timer.next != null) timer.next.prev = timer.prev;
+
+        timer.prev = null;
+        timer.next = null;
+        timer.slot = -1;
+        pending--;
+    }
+
+    // ═══════════════════════════════════════
+    // Timer
+    // ═══════════════════════════════════════
+
+    public final class Timer {
+        private final Runnable action;
+        private long rounds;
+        private int slot = -1;
+        private boolean due;
+        private Timer prev;
+        private Timer next;
+
+        private Timer(Runnable action) {
+            this.action = action;
+        }
+
+        /**
+         * @return false kalau timer sudah jalan / sudah di-cancel
+         */
+        public boolean cancel() {
+            if (due) {
+                due = false;
+                return true;
+            }
+            if (slot < 0) return false;
+            unlink(this);
+            return true;
+        }
+
+        public boolean isPending() {
+            return slot >= 0 || due;
+        }
+    }
+}